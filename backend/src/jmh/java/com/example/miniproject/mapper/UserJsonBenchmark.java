@@ -0,0 +1,103 @@
+package com.example.miniproject.mapper;
+
+import com.example.miniproject.dto.UserResponse;
+import com.example.miniproject.model.User;
+import com.example.miniproject.service.UserService;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous JSON path (reflective ObjectMapper, type resolved per
+ * call) with Blackbird and pre-resolved readers/writers as used by UserJsonCodec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserJsonBenchmark {
+
+    @Param({"1", "1000"})
+    private int users;
+
+    private ObjectMapper reflectiveMapper;
+    private JavaType reflectiveListType;
+    private ObjectWriter listWriter;
+    private ObjectReader listReader;
+    private ObjectWriter profileWriter;
+    private List<User> payload;
+    private byte[] payloadJson;
+    private UserResponse profile;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Modules listed explicitly: findAndRegisterModules() would pick up Blackbird from the classpath
+        reflectiveMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        reflectiveListType = reflectiveMapper.getTypeFactory().constructCollectionType(List.class, User.class);
+
+        ObjectMapper blackbirdMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JavaType listType = blackbirdMapper.getTypeFactory().constructCollectionType(List.class, User.class);
+        listWriter = blackbirdMapper.writerFor(listType);
+        listReader = blackbirdMapper.readerFor(listType);
+        profileWriter = blackbirdMapper.writerFor(UserResponse.class);
+
+        UserService userService = new UserService(null, null, new SimpleMeterRegistry(), null, null, null, null, null);
+        payload = userService.generateUsers(users);
+        payloadJson = reflectiveMapper.writeValueAsBytes(payload);
+        User user = payload.get(0);
+        profile = new UserResponse(user.getFirstName(), user.getLastName(), user.getBirthDate(), user.getCity(),
+                user.getCountry(), user.getAvatar(), user.getCompany(), user.getJobPosition(), user.getMobile(),
+                user.getUsername(), user.getEmail(), user.getRole());
+    }
+
+    @Benchmark
+    public byte[] writeUsersReflective() throws IOException {
+        return reflectiveMapper.writerFor(reflectiveListType).writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] writeUsersBlackbird() throws IOException {
+        return listWriter.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public List<User> readUsersReflective() throws IOException {
+        return reflectiveMapper.readValue(payloadJson, reflectiveListType);
+    }
+
+    @Benchmark
+    public List<User> readUsersBlackbird() throws IOException {
+        return listReader.readValue(payloadJson);
+    }
+
+    @Benchmark
+    public byte[] writeProfileReflective() throws IOException {
+        return reflectiveMapper.writeValueAsBytes(profile);
+    }
+
+    @Benchmark
+    public byte[] writeProfileBlackbird() throws IOException {
+        return profileWriter.writeValueAsBytes(profile);
+    }
+}
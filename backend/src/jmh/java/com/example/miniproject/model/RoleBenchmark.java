@@ -0,0 +1,26 @@
+package com.example.miniproject.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoleBenchmark {
+
+    // Includes an unknown value to cover the exception path
+    @Param({"ADMIN", "user", "unknown"})
+    private String value;
+
+    @Benchmark
+    public Role fromString() {
+        return Role.fromString(value);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.mapper.UserJsonCodec;
+import com.example.miniproject.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses batch import payloads the same way UserController.batchImport does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImportParsingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int users;
+
+    private UserJsonCodec codec;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        codec = new UserJsonCodec(objectMapper);
+        UserService userService = new UserService(null, null, new SimpleMeterRegistry(), null, null, null, null, null);
+        payload = objectMapper.writeValueAsBytes(userService.generateUsers(users));
+    }
+
+    @Benchmark
+    public List<User> parseImportFile() throws IOException {
+        return codec.readUsers(new ByteArrayInputStream(payload));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        userService = new UserService(null, new BCryptPasswordEncoder(), new SimpleMeterRegistry(), null, null, null, null, null);
+    }
+
+    @Benchmark
+    public User generateRandomUser() {
+        return userService.generateRandomUser();
+    }
+}
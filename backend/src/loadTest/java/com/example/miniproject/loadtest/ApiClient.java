@@ -0,0 +1,127 @@
+package com.example.miniproject.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Thin asynchronous client for the endpoints exercised by the load test.
+ * Every call completes with the HTTP status code.
+ */
+class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    ApiClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    CompletableFuture<Integer> login(String username, String password) {
+        return send(jsonPost("/api/auth", Map.of("username", username, "password", password)));
+    }
+
+    /**
+     * Log in synchronously and return the access token
+     */
+    String loginForToken(String username, String password) throws Exception {
+        HttpResponse<String> response = httpClient.send(
+                jsonPost("/api/auth", Map.of("username", username, "password", password)),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("accessToken").asText();
+    }
+
+    CompletableFuture<Integer> me(String token) {
+        return send(authorizedGet("/api/users/me", token));
+    }
+
+    CompletableFuture<Integer> profile(String token, String username) {
+        return send(authorizedGet("/api/users/" + URLEncoder.encode(username, StandardCharsets.UTF_8), token));
+    }
+
+    CompletableFuture<Integer> generate(int count) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/generate?count=" + count))
+                .timeout(TIMEOUT)
+                .GET()
+                .build());
+    }
+
+    CompletableFuture<Integer> batchImport(byte[] json) {
+        return send(multipart("/api/users/batch", json));
+    }
+
+    /**
+     * Import users synchronously, failing on anything but 200
+     */
+    void batchImportSync(byte[] json) throws Exception {
+        HttpResponse<String> response = httpClient.send(multipart("/api/users/batch", json),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private CompletableFuture<Integer> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest jsonPost(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not serialize request body", e);
+        }
+    }
+
+    private HttpRequest authorizedGet(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest multipart(String path, byte[] file) {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(file.length + 256);
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"users.json\"\r\n"
+                + "Content-Type: application/json\r\n\r\n";
+        body.writeBytes(head.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(file);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+}
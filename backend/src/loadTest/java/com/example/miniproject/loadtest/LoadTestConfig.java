@@ -0,0 +1,35 @@
+package com.example.miniproject.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from system properties set by the loadTest Gradle task.
+ */
+public record LoadTestConfig(
+        int ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        int seedUsers,
+        Path reportDir,
+        Path baselineFile,
+        boolean updateBaseline,
+        double latencyTolerance,
+        double throughputTolerance,
+        double maxErrorRate) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.rate", 200),
+                Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30)),
+                Integer.getInteger("loadtest.seedUsers", 200),
+                Paths.get(System.getProperty("loadtest.reportDir", "build/reports/load-test")),
+                Paths.get(System.getProperty("loadtest.baseline", "src/loadTest/resources/baseline.json")),
+                Boolean.getBoolean("loadtest.updateBaseline"),
+                Double.parseDouble(System.getProperty("loadtest.latencyTolerance", "0.25")),
+                Double.parseDouble(System.getProperty("loadtest.throughputTolerance", "0.10")),
+                Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01")));
+    }
+}
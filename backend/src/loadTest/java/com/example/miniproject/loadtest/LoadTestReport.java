@@ -0,0 +1,122 @@
+package com.example.miniproject.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the JSON and HTML reports and compares a run against the stored baseline.
+ */
+class LoadTestReport {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final LoadTestConfig config;
+    private final Map<String, Object> report = new LinkedHashMap<>();
+
+    LoadTestReport(LoadTestConfig config, LoadTestResults results) {
+        this.config = config;
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("ratePerSecond", config.ratePerSecond());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("seedUsers", config.seedUsers());
+        report.put("settings", settings);
+        report.put("overall", results.overallSummary());
+        report.put("scenarios", results.scenarioSummaries());
+    }
+
+    void write() throws IOException {
+        Files.createDirectories(config.reportDir());
+        objectMapper.writeValue(config.reportDir().resolve("report.json").toFile(), report);
+        Files.writeString(config.reportDir().resolve("report.html"), toHtml(), StandardCharsets.UTF_8);
+        if (config.updateBaseline()) {
+            Files.createDirectories(config.baselineFile().toAbsolutePath().getParent());
+            objectMapper.writeValue(config.baselineFile().toFile(), report);
+        }
+    }
+
+    /**
+     * @return human-readable regressions; empty if the run is within tolerance
+     */
+    List<String> regressions() throws IOException {
+        List<String> regressions = new ArrayList<>();
+        JsonNode current = objectMapper.valueToTree(report);
+        checkErrorRate("overall", current.get("overall"), regressions);
+
+        if (config.updateBaseline()) {
+            return regressions;
+        }
+        if (!Files.exists(config.baselineFile())) {
+            regressions.add(String.format("no baseline at %s; record one with -Ploadtest.updateBaseline=true",
+                    config.baselineFile()));
+            return regressions;
+        }
+        JsonNode baseline = objectMapper.readTree(config.baselineFile().toFile());
+        compare("overall", baseline.get("overall"), current.get("overall"), regressions);
+        Iterator<Map.Entry<String, JsonNode>> scenarios = current.get("scenarios").fields();
+        while (scenarios.hasNext()) {
+            Map.Entry<String, JsonNode> scenario = scenarios.next();
+            JsonNode base = baseline.path("scenarios").get(scenario.getKey());
+            if (base != null) {
+                compare(scenario.getKey(), base, scenario.getValue(), regressions);
+            }
+        }
+        return regressions;
+    }
+
+    private void checkErrorRate(String name, JsonNode current, List<String> regressions) {
+        double errorRate = current.get("errorRate").asDouble();
+        if (errorRate > config.maxErrorRate()) {
+            regressions.add(String.format("%s error rate %.2f%% exceeds %.2f%%",
+                    name, errorRate * 100, config.maxErrorRate() * 100));
+        }
+    }
+
+    private void compare(String name, JsonNode baseline, JsonNode current, List<String> regressions) {
+        for (String metric : List.of("p50Ms", "p99Ms", "p999Ms")) {
+            double before = baseline.get(metric).asDouble();
+            double after = current.get(metric).asDouble();
+            if (before > 0 && after > before * (1 + config.latencyTolerance())) {
+                regressions.add(String.format("%s %s regressed from %.2f to %.2f ms", name, metric, before, after));
+            }
+        }
+        double before = baseline.get("throughput").asDouble();
+        double after = current.get("throughput").asDouble();
+        if (after < before * (1 - config.throughputTolerance())) {
+            regressions.add(String.format("%s throughput dropped from %.1f to %.1f req/s", name, before, after));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String toHtml() {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Load test report</title>")
+            .append("<style>body{font-family:sans-serif}td,th{padding:4px 12px;text-align:right}")
+            .append("th:first-child,td:first-child{text-align:left}</style></head><body>")
+            .append("<h1>Load test report</h1><p>")
+            .append(config.ratePerSecond()).append(" req/s for ").append(config.duration().toSeconds())
+            .append(" s</p><table><tr><th>Scenario</th><th>Count</th><th>Errors</th><th>Rejected</th>")
+            .append("<th>Throughput</th>")
+            .append("<th>p50 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>max ms</th></tr>");
+        Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) report.get("scenarios"));
+        rows.put("overall", report.get("overall"));
+        rows.forEach((name, value) -> {
+            Map<String, Object> row = (Map<String, Object>) value;
+            html.append("<tr><td>").append(name).append("</td>")
+                .append(String.format("<td>%d</td><td>%d</td><td>%d</td><td>%.1f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td>",
+                        row.get("count"), row.get("errors"), row.get("rejected"), row.get("throughput"), row.get("p50Ms"),
+                        row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs")))
+                .append("</tr>");
+        });
+        return html.append("</table></body></html>").toString();
+    }
+}
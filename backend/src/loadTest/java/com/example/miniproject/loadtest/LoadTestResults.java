@@ -0,0 +1,100 @@
+package com.example.miniproject.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per scenario. Latencies are measured from the intended
+ * send time, so queueing caused by a slow server is included. Requests shed
+ * with 503 by the bulkheads or admission control are counted as rejections,
+ * not errors, and stay out of the latency histograms.
+ */
+class LoadTestResults {
+
+    enum Outcome {
+        SUCCESS, ERROR, REJECTED;
+
+        static Outcome of(Integer status, Throwable error) {
+            if (error != null) {
+                return ERROR;
+            }
+            if (status == 503) {
+                return REJECTED;
+            }
+            return status < 400 ? SUCCESS : ERROR;
+        }
+    }
+
+    private final Map<Scenario, Histogram> histograms = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> rejections = new EnumMap<>(Scenario.class);
+    private final Histogram overall = new ConcurrentHistogram(3);
+    private final LongAdder overallErrors = new LongAdder();
+    private final LongAdder overallRejections = new LongAdder();
+    private long durationNanos;
+
+    LoadTestResults() {
+        for (Scenario scenario : Scenario.values()) {
+            histograms.put(scenario, new ConcurrentHistogram(3));
+            errors.put(scenario, new LongAdder());
+            rejections.put(scenario, new LongAdder());
+        }
+    }
+
+    void record(Scenario scenario, long latencyNanos, Outcome outcome) {
+        if (outcome == Outcome.REJECTED) {
+            rejections.get(scenario).increment();
+            overallRejections.increment();
+            return;
+        }
+        histograms.get(scenario).recordValue(latencyNanos);
+        overall.recordValue(latencyNanos);
+        if (outcome == Outcome.ERROR) {
+            errors.get(scenario).increment();
+            overallErrors.increment();
+        }
+    }
+
+    void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    Map<String, Object> overallSummary() {
+        return summarize(overall, overallErrors.sum(), overallRejections.sum());
+    }
+
+    Map<String, Object> scenarioSummaries() {
+        Map<String, Object> summaries = new LinkedHashMap<>();
+        for (Scenario scenario : Scenario.values()) {
+            summaries.put(scenario.name(), summarize(histograms.get(scenario), errors.get(scenario).sum(),
+                    rejections.get(scenario).sum()));
+        }
+        return summaries;
+    }
+
+    private Map<String, Object> summarize(Histogram histogram, long errorCount, long rejectedCount) {
+        long count = histogram.getTotalCount();
+        double seconds = durationNanos / 1_000_000_000.0;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("errors", errorCount);
+        summary.put("errorRate", count == 0 ? 0.0 : (double) errorCount / count);
+        summary.put("rejected", rejectedCount);
+        summary.put("rejectionRate", count + rejectedCount == 0 ? 0.0 : (double) rejectedCount / (count + rejectedCount));
+        summary.put("throughput", seconds == 0 ? 0.0 : count / seconds);
+        summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.miniproject.loadtest;
+
+import com.example.miniproject.MiniProjectApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the application on the in-memory H2 database, seeds users, drives a
+ * mixed open-model workload and fails if latency or throughput regress
+ * against the stored baseline. Run with {@code ./gradlew loadTest}.
+ */
+public class LoadTestRunner {
+
+    private static final String PASSWORD = "loadtest1";
+    private static final int IMPORT_BATCH_SIZE = 10;
+    private static final int GENERATE_COUNT = 10;
+    private static final int TOKEN_POOL_SIZE = 20;
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong importSequence = new AtomicLong();
+    private final List<String> usernames = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private ApiClient client;
+    private String adminToken;
+
+    LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext context = SpringApplication.run(MiniProjectApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                "--logging.level.root=WARN");
+        List<String> regressions;
+        try {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            regressions = new LoadTestRunner(config).run("http://localhost:" + port);
+        } finally {
+            context.close();
+        }
+        if (!regressions.isEmpty()) {
+            regressions.forEach(regression -> System.err.println("REGRESSION: " + regression));
+            System.exit(1);
+        }
+    }
+
+    List<String> run(String baseUrl) throws Exception {
+        client = new ApiClient(baseUrl, objectMapper);
+        seed();
+
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(config.ratePerSecond(), this::execute);
+        System.out.printf("Warming up for %d s at %d req/s%n", config.warmup().toSeconds(), config.ratePerSecond());
+        generator.run(config.warmup(), new LoadTestResults());
+
+        System.out.printf("Measuring for %d s at %d req/s%n", config.duration().toSeconds(), config.ratePerSecond());
+        LoadTestResults results = new LoadTestResults();
+        generator.run(config.duration(), results);
+
+        LoadTestReport report = new LoadTestReport(config, results);
+        report.write();
+        System.out.println("Overall: " + results.overallSummary());
+        System.out.println("Report written to " + config.reportDir().toAbsolutePath());
+        return report.regressions();
+    }
+
+    private void seed() throws Exception {
+        List<Map<String, Object>> users = new ArrayList<>();
+        for (int i = 0; i < config.seedUsers(); i++) {
+            String username = "seed" + i;
+            usernames.add(username);
+            users.add(user(username, i == 0 ? "ADMIN" : "USER"));
+        }
+        client.batchImportSync(objectMapper.writeValueAsBytes(users));
+
+        adminToken = client.loginForToken(usernames.get(0), PASSWORD);
+        for (int i = 0; i < Math.min(TOKEN_POOL_SIZE, usernames.size()); i++) {
+            tokens.add(client.loginForToken(usernames.get(i), PASSWORD));
+        }
+    }
+
+    private CompletableFuture<Integer> execute(Scenario scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (scenario) {
+            case LOGIN:
+                return client.login(usernames.get(random.nextInt(usernames.size())), PASSWORD);
+            case ME:
+                return client.me(tokens.get(random.nextInt(tokens.size())));
+            case PROFILE:
+                return client.profile(adminToken, usernames.get(random.nextInt(usernames.size())));
+            case BATCH_IMPORT:
+                return client.batchImport(importBatch());
+            case GENERATE:
+            default:
+                return client.generate(GENERATE_COUNT);
+        }
+    }
+
+    private byte[] importBatch() {
+        List<Map<String, Object>> users = new ArrayList<>(IMPORT_BATCH_SIZE);
+        for (int i = 0; i < IMPORT_BATCH_SIZE; i++) {
+            users.add(user("import" + importSequence.incrementAndGet(), "USER"));
+        }
+        try {
+            return objectMapper.writeValueAsBytes(users);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Object> user(String username, String role) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("firstName", "Load");
+        user.put("lastName", "Test");
+        user.put("birthDate", LocalDate.of(1990, 1, 1).toString());
+        user.put("city", "Paris");
+        user.put("country", "FR");
+        user.put("avatar", "https://example.com/avatar.png");
+        user.put("company", "Acme");
+        user.put("jobPosition", "Tester");
+        user.put("mobile", "+33 6 00 00 00 00");
+        user.put("username", username);
+        user.put("email", username + "@loadtest.example.com");
+        user.put("password", PASSWORD);
+        user.put("role", role);
+        return user;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.miniproject.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-model load generator: requests are started on a fixed arrival schedule
+ * regardless of how many are still in flight, and each latency is measured
+ * from its scheduled start. A slow server therefore shows up as higher
+ * latency instead of silently lowering the offered load (coordinated omission).
+ */
+class OpenModelLoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final int ratePerSecond;
+    private final Function<Scenario, CompletableFuture<Integer>> action;
+
+    OpenModelLoadGenerator(int ratePerSecond, Function<Scenario, CompletableFuture<Integer>> action) {
+        this.ratePerSecond = ratePerSecond;
+        this.action = action;
+    }
+
+    void run(Duration duration, LoadTestResults results) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long durationNanos = duration.toNanos();
+        AtomicInteger inFlight = new AtomicInteger();
+        long start = System.nanoTime();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended - start >= durationNanos) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = Scenario.pick(ThreadLocalRandom.current().nextInt(100));
+            inFlight.incrementAndGet();
+            CompletableFuture<Integer> call;
+            try {
+                call = action.apply(scenario);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((status, error) -> {
+                results.record(scenario, System.nanoTime() - intended, LoadTestResults.Outcome.of(status, error));
+                inFlight.decrementAndGet();
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        results.setDurationNanos(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.miniproject.loadtest;
+
+/**
+ * Request types in the mixed workload and their share of the arrival rate.
+ * Imports and generation hash passwords with BCrypt in small bulkheads, so
+ * they get a share those compartments can absorb at the default rate.
+ */
+public enum Scenario {
+    LOGIN(10),
+    ME(57),
+    PROFILE(30),
+    BATCH_IMPORT(1),
+    GENERATE(2);
+
+    private final int weight;
+
+    Scenario(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Pick a scenario for a uniformly distributed value in [0, 100)
+     */
+    public static Scenario pick(int roll) {
+        int cumulative = 0;
+        for (Scenario scenario : values()) {
+            cumulative += scenario.weight;
+            if (roll < cumulative) {
+                return scenario;
+            }
+        }
+        return ME;
+    }
+}
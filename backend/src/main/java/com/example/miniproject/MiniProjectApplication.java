@@ -2,13 +2,20 @@ package com.example.miniproject;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import com.example.miniproject.config.JwtProperties;
+import com.example.miniproject.monitoring.StartupReport;
 
 @SpringBootApplication
 @EnableConfigurationProperties(JwtProperties.class)
+@EnableScheduling
 public class MiniProjectApplication {
     public static void main(String[] args) {
-        SpringApplication.run(MiniProjectApplication.class, args);
+        SpringApplication application = new SpringApplication(MiniProjectApplication.class);
+        // Records startup steps for the startup report and /actuator/startup
+        application.setApplicationStartup(new BufferingApplicationStartup(StartupReport.TIMELINE_CAPACITY));
+        application.run(args);
     }
 }
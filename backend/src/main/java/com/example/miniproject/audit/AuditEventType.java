@@ -0,0 +1,9 @@
+package com.example.miniproject.audit;
+
+public enum AuditEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    TOKEN_ISSUED,
+    TOKEN_REVOKED,
+    BATCH_IMPORT
+}
@@ -0,0 +1,148 @@
+package com.example.miniproject.audit;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Appends audit events to directory/audit.log as tab-separated lines
+ * (timestamp, type, subject, count, failed) and rotates the file by size,
+ * keeping a bounded number of rotated files. Only the writer thread uses it.
+ */
+@Slf4j
+final class AuditFileWriter implements AuditRingBuffer.Handler {
+
+    static final String ACTIVE_FILE = "audit.log";
+    private static final String ROTATED_PREFIX = "audit-";
+    private static final DateTimeFormatter ROTATED_SUFFIX =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final Path active;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final Counter lost;
+    private final StringBuilder line = new StringBuilder(128);
+    private BufferedWriter writer;
+    private long size;
+    private boolean healthy = true;
+
+    AuditFileWriter(Path directory, long maxFileSize, int maxFiles, Counter lost) {
+        this.directory = directory;
+        this.lost = lost;
+        this.active = directory.resolve(ACTIVE_FILE);
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public void onEvent(long timestamp, AuditEventType type, String subject, long count, long failed) {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(timestamp)).append('\t').append(type.name()).append('\t');
+        appendSanitized(subject);
+        line.append('\t').append(count).append('\t').append(failed).append('\n');
+        try {
+            if (writer == null) {
+                open();
+            }
+            writer.append(line);
+            // Chars rather than bytes; subjects are almost always ASCII
+            size += line.length();
+            healthy = true;
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    /**
+     * Flush the batch and rotate once the file is over its size limit
+     */
+    void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+            if (size >= maxFileSize) {
+                rotate();
+            }
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Could not close audit log {}: {}", active, e.getMessage());
+        }
+        writer = null;
+    }
+
+    /**
+     * Count the event as lost and retry the file on the next event; only the
+     * first failure after a success is logged so a full disk cannot flood the log
+     */
+    private void failed(IOException e) {
+        lost.increment();
+        if (healthy) {
+            log.error("Could not write audit log {}, events are being lost: {}", active, e.getMessage());
+            healthy = false;
+        }
+        close();
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        writer = Files.newBufferedWriter(active, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(active);
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Path rotated = directory.resolve(ROTATED_PREFIX + ROTATED_SUFFIX.format(Instant.now()) + ".log");
+        Files.move(active, rotated);
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.filter(path -> path.getFileName().toString().startsWith(ROTATED_PREFIX))
+                    .forEach(files::add);
+        }
+        // Suffixes sort chronologically, so the oldest files come first
+        Collections.sort(files);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    /**
+     * Subjects can come straight from a login request; keep each event on one line
+     */
+    private void appendSanitized(String subject) {
+        if (subject == null) {
+            line.append('-');
+            return;
+        }
+        for (int i = 0; i < subject.length(); i++) {
+            char c = subject.charAt(i);
+            line.append(c < 0x20 || c == 0x7f ? '?' : c);
+        }
+    }
+}
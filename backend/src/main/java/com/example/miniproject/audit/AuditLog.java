@@ -0,0 +1,155 @@
+package com.example.miniproject.audit;
+
+import com.example.miniproject.config.AuditProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of logins, token issuance and batch imports. Request threads
+ * only put a fixed-layout event into a preallocated ring buffer; a background
+ * writer drains it in batches into rotated, append-only files. Disabled when
+ * no audit directory is configured.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditLog {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long STOP_TIMEOUT_MILLIS = 5_000;
+
+    private final AuditProperties properties;
+    private final MeterRegistry meterRegistry;
+    private AuditRingBuffer ring;
+    private AuditFileWriter fileWriter;
+    private Counter written;
+    private Counter dropped;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!StringUtils.hasText(properties.getDirectory())) {
+            return;
+        }
+        ring = new AuditRingBuffer(properties.getBufferSize());
+        written = meterRegistry.counter("audit.events", "result", "written");
+        dropped = meterRegistry.counter("audit.events", "result", "dropped");
+        fileWriter = new AuditFileWriter(Paths.get(properties.getDirectory()), properties.getMaxFileSize(),
+                properties.getMaxFiles(), meterRegistry.counter("audit.events", "result", "lost"));
+        Gauge.builder("audit.backlog", ring, AuditRingBuffer::size).register(meterRegistry);
+        running = true;
+        // A platform thread: it lives as long as the application and mostly sleeps
+        writerThread = new Thread(this::writeLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Audit log enabled in {} with a buffer of {} events", properties.getDirectory(), ring.capacity());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(STOP_TIMEOUT_MILLIS);
+    }
+
+    public void loginSucceeded(String username) {
+        publish(AuditEventType.LOGIN_SUCCESS, username, 0, 0);
+    }
+
+    public void loginFailed(String username) {
+        publish(AuditEventType.LOGIN_FAILURE, username, 0, 0);
+    }
+
+    public void tokenIssued(String username) {
+        publish(AuditEventType.TOKEN_ISSUED, username, 0, 0);
+    }
+
+    public void tokenRevoked(String username) {
+        publish(AuditEventType.TOKEN_REVOKED, username, 0, 0);
+    }
+
+    /**
+     * Record a batch import by the current user. Inside a transaction the event
+     * is written once it completes, and a rollback records every row as failed.
+     */
+    public void batchImported(long imported, long failed) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String subject = authentication == null ? null : authentication.getName();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(AuditEventType.BATCH_IMPORT, subject, imported, failed);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    publish(AuditEventType.BATCH_IMPORT, subject, imported, failed);
+                } else {
+                    publish(AuditEventType.BATCH_IMPORT, subject, 0, imported + failed);
+                }
+            }
+        });
+    }
+
+    private void publish(AuditEventType type, String subject, long count, long failed) {
+        if (ring == null) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        long position = ring.offer(timestamp, type, subject, count, failed);
+        while (position < 0 && properties.getOverflowPolicy() == AuditProperties.OverflowPolicy.BLOCK && running) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            position = ring.offer(timestamp, type, subject, count, failed);
+        }
+        if (position < 0) {
+            dropped.increment();
+        } else if (position % properties.getBatchSize() == properties.getBatchSize() - 1) {
+            // A full batch is waiting; wake the writer instead of letting it sleep out its interval
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    private void writeLoop() {
+        int batchSize = properties.getBatchSize();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushInterval());
+        try {
+            while (running) {
+                int drained = ring.drain(fileWriter, batchSize);
+                if (drained > 0) {
+                    fileWriter.flush();
+                    written.increment(drained);
+                }
+                if (drained < batchSize) {
+                    LockSupport.parkNanos(this, idleNanos);
+                }
+            }
+            // Write out what was published before shutdown
+            int drained;
+            while ((drained = ring.drain(fileWriter, batchSize)) > 0) {
+                written.increment(drained);
+            }
+            fileWriter.flush();
+        } finally {
+            fileWriter.close();
+        }
+    }
+}
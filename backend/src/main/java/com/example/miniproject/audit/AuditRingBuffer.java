@@ -0,0 +1,111 @@
+package com.example.miniproject.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring of fixed-layout audit events.
+ * Slots are preallocated as parallel arrays and reused, so publishing claims
+ * a slot with one CAS and writes primitives and existing references: nothing
+ * is allocated and no lock is taken. Each slot's sequence number tells
+ * producers when it is free and the consumer when it is filled.
+ */
+final class AuditRingBuffer {
+
+    /**
+     * Receives drained events without an event object being created
+     */
+    interface Handler {
+        void onEvent(long timestamp, AuditEventType type, String subject, long count, long failed);
+    }
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final long[] timestamps;
+    private final AuditEventType[] types;
+    private final String[] subjects;
+    private final long[] counts;
+    private final long[] failures;
+    private final AtomicLong tail = new AtomicLong();
+    // Only written by the consumer; volatile so size() can read it from producers
+    private volatile long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.timestamps = new long[capacity];
+        this.types = new AuditEventType[capacity];
+        this.subjects = new String[capacity];
+        this.counts = new long[capacity];
+        this.failures = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publish an event
+     * @return the position the event was written at, or -1 when the ring is full
+     */
+    long offer(long timestamp, AuditEventType type, String subject, long count, long failed) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                // The slot still holds an event from the previous lap
+                return -1;
+            }
+            // Another producer claimed this position; retry with the new tail
+        }
+        timestamps[index] = timestamp;
+        types[index] = type;
+        subjects[index] = subject;
+        counts[index] = count;
+        failures[index] = failed;
+        // Publishes the slot contents to the consumer
+        sequences.set(index, position + 1);
+        return position;
+    }
+
+    /**
+     * Hand up to max published events to the handler, in order. Single consumer only.
+     * @return the number of events drained
+     */
+    int drain(Handler handler, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            handler.onEvent(timestamps[index], types[index], subjects[index], counts[index], failures[index]);
+            subjects[index] = null;
+            // Frees the slot for the producer one lap ahead
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Approximate number of events waiting to be drained
+     */
+    long size() {
+        return Math.max(0, tail.get() - head);
+    }
+}
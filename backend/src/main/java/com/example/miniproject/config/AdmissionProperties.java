@@ -0,0 +1,41 @@
+package com.example.miniproject.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+    private List<String> paths = List.of("/api/**");
+    // Long-lived streams; their duration reflects the client, not server load
+    private List<String> excludedPaths = List.of("/api/users/export", "/api/users/changes", "/api/users/stream");
+    // Admitted under the limit, but their latency scales with the request size, so it is not fed into the limit
+    private List<String> bulkPaths = List.of("/api/users/generate", "/api/users/batch", "/api/users/lookup");
+
+    // Share of the max heap that admitted requests may reserve at once
+    private double memoryBudgetFraction = 0.25;
+    // Estimated heap per user in /generate: entity, Faker strings and serialized JSON
+    private long bytesPerGeneratedUser = 2048;
+    // Heap per byte of a /batch upload once parsed into entities
+    private int uploadExpansionFactor = 4;
+    // Assumed upload size when the request has no Content-Length
+    private long unknownUploadBytes = 10 * 1024 * 1024;
+
+    // Adaptive concurrency limit
+    private int initialLimit = 50;
+    private int minLimit = 8;
+    private int maxLimit = 400;
+    // Weight of each new limit estimate (0.0 - 1.0)
+    private double smoothing = 0.2;
+    // Ratio of recent to baseline latency tolerated before the limit shrinks
+    private double rttTolerance = 1.5;
+    // Samples averaged into the baseline latency
+    private int baselineWindow = 600;
+}
@@ -0,0 +1,33 @@
+package com.example.miniproject.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+    // Directory for audit.log and its rotated files; empty disables auditing
+    private String directory = "";
+    // Events buffered in memory, rounded up to a power of two
+    private int bufferSize = 8192;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    // Events written per batch; a full batch also wakes the writer early
+    private int batchSize = 256;
+    // Milliseconds the writer sleeps when the buffer is empty
+    private long flushInterval = 200;
+    // Bytes after which audit.log is rotated
+    private long maxFileSize = 64 * 1024 * 1024;
+    // Rotated files kept besides audit.log
+    private int maxFiles = 10;
+
+    public enum OverflowPolicy {
+        // Count and discard the new event; requests never wait for the writer
+        DROP,
+        // Wait for the writer to free a slot; no event is lost but requests can stall
+        BLOCK
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.miniproject.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+    private boolean enabled = true;
+    // Long-lived event streams; the change feed limits its subscribers itself
+    private List<String> excludedPaths = List.of("/api/users/stream");
+    // Compartments are matched in this order, so the profile pattern /api/users/{username} comes last
+    private Compartment generation = new Compartment(4, 8, 2000, List.of("/api/users/generate"));
+    private Compartment batchImport = new Compartment(2, 4, 5000,
+            List.of("/api/users/batch", "/api/users/seed", "/api/users/seed/*"));
+    // Listings, searches, lookups and exports scan many rows; exports hold their permit while streaming
+    private Compartment heavyReads = new Compartment(16, 32, 2000,
+            List.of("/api/users", "/api/users/search", "/api/users/lookup", "/api/users/stats",
+                    "/api/users/export", "/api/users/changes"));
+    private Compartment interactive = new Compartment(150, 100, 500,
+            List.of("/api/auth/**", "/api/users/me", "/api/users/{username}"));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Compartment {
+        private int maxConcurrent;
+        // Requests allowed to wait for a permit; beyond that they are rejected at once
+        private int maxQueued;
+        // Milliseconds a queued request waits before it is rejected
+        private long maxWait;
+        private List<String> paths;
+    }
+}
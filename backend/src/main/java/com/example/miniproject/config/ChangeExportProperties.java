@@ -0,0 +1,29 @@
+package com.example.miniproject.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "change-export")
+public class ChangeExportProperties {
+    // How far /api/users/changes stays behind "now". Rows are stamped when written, not when
+    // their transaction commits, so no write transaction may stay open longer than this.
+    private Duration commitLag = Duration.ofSeconds(60);
+    // Seconds the batch import's insert transaction may run; must be shorter than the commit lag
+    private int importTransactionTimeout = 30;
+
+    @PostConstruct
+    public void validate() {
+        if (Duration.ofSeconds(importTransactionTimeout).compareTo(commitLag) >= 0) {
+            throw new IllegalStateException("change-export.import-transaction-timeout (" + importTransactionTimeout
+                    + "s) must be shorter than change-export.commit-lag (" + commitLag + ")");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.miniproject.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "change-feed")
+public class ChangeFeedProperties {
+    // Events buffered per subscriber before the overflow policy applies
+    private int bufferSize = 256;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+    private int maxSubscribers = 1000;
+    // Threads writing buffered events to subscriber connections
+    private int dispatchThreads = 4;
+    // Milliseconds
+    private long emitterTimeout = 1_800_000;
+    private long heartbeatInterval = 15_000;
+
+    public enum OverflowPolicy {
+        // Discard the oldest buffered event and keep the subscriber
+        DROP_OLDEST,
+        // Close the subscriber's stream; it reconnects and resyncs
+        DISCONNECT
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.miniproject.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${virtual-threads.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Runs bulk seeding jobs one at a time, off the request threads
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService seedExecutor() {
+        if (virtualThreads) {
+            return Executors.newSingleThreadExecutor(VirtualThreads.factory("user-seed-"));
+        }
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-seed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Hashes seed passwords. A dedicated, bounded pool, so a seeding job
+     * neither competes with other parallel streams for the common pool nor
+     * takes more cores than configured.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService seedHashExecutor(SeedProperties properties) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(properties.getHashThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "user-seed-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Drains per-subscriber change feed buffers into their SSE connections.
+     * With virtual threads every drain gets its own thread, so a connection
+     * blocked on a slow client never holds up the others.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService changeFeedExecutor(ChangeFeedProperties properties) {
+        if (virtualThreads) {
+            return VirtualThreads.newThreadPerTaskExecutor("change-feed-");
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(properties.getDispatchThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -12,4 +12,7 @@ import org.springframework.stereotype.Component;
 public class JwtProperties {
     private String secret;
     private long expiration;
+    // File the revocation list is persisted to; empty keeps it in memory only
+    private String revocationFile;
+    private long revocationPurgeInterval = 60000;
 }
@@ -1,6 +1,7 @@
 package com.example.miniproject.config;
 
 import com.example.miniproject.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,16 +45,27 @@ public class SecurityConfig {
         org.springframework.security.web.util.matcher.AntPathRequestMatcher h2ConsolePathMatcher =
             new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/h2-console/**");
 
+        // Create Ant matchers for health checks and the remaining actuator endpoints
+        org.springframework.security.web.util.matcher.AntPathRequestMatcher healthPathMatcher =
+            new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/actuator/health/**");
+        org.springframework.security.web.util.matcher.AntPathRequestMatcher actuatorPathMatcher =
+            new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/actuator/**");
+
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches continue a request that was already authorized (streamed responses)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(mvcMatcherBuilder.pattern("/api/auth/**")).permitAll()
                 .requestMatchers(mvcMatcherBuilder.pattern("/api/users/generate")).permitAll()
                 .requestMatchers(mvcMatcherBuilder.pattern("/api/users/batch")).permitAll()
                 .requestMatchers(mvcMatcherBuilder.pattern("/swagger-ui/**")).permitAll()
                 .requestMatchers(mvcMatcherBuilder.pattern("/api-docs/**")).permitAll()
                 .requestMatchers(h2ConsolePathMatcher).permitAll()
+                .requestMatchers(healthPathMatcher).permitAll()
+                // Metrics, query shapes and the startup timeline are internals, and some endpoints can reset state
+                .requestMatchers(actuatorPathMatcher).hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
@@ -72,8 +84,10 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Collections.singletonList("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
-        configuration.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization", "X-Requested-With"));
-        configuration.setExposedHeaders(Arrays.asList("Access-Control-Allow-Origin", "Access-Control-Allow-Credentials"));
+        configuration.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization", "X-Requested-With",
+                "If-None-Match"));
+        configuration.setExposedHeaders(Arrays.asList("Access-Control-Allow-Origin", "Access-Control-Allow-Credentials", "Server-Timing",
+                "X-Next-Cursor", "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
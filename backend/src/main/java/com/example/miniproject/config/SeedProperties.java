@@ -0,0 +1,24 @@
+package com.example.miniproject.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "seed")
+public class SeedProperties {
+    private int batchSize = 1000;
+    private int maxCount = 10_000_000;
+    // BCrypt strength used for fast hashing; only honored with the dev profile active
+    private int devPasswordStrength = 4;
+    // Threads hashing seed passwords; BCrypt is CPU bound, so more than the core count only adds contention
+    private int hashThreads = Runtime.getRuntime().availableProcessors();
+    // Finished jobs stay queryable this long, and at most this many are kept
+    private Duration finishedJobRetention = Duration.ofHours(1);
+    private int maxFinishedJobs = 100;
+}
@@ -0,0 +1,21 @@
+package com.example.miniproject.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "server-timing")
+public class ServerTimingProperties {
+    private boolean enabled;
+    // Fraction of requests (0.0 - 1.0) that get a Server-Timing header
+    private double sampleRate = 1.0;
+    private boolean logEnabled;
+    // Streaming endpoints must not be buffered to add the header
+    private List<String> excludedPaths = List.of("/api/users/export", "/api/users/changes", "/api/users/stream");
+}
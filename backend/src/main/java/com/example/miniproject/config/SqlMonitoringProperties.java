@@ -0,0 +1,21 @@
+package com.example.miniproject.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "sql-monitoring")
+public class SqlMonitoringProperties {
+    // Off by default: every JDBC statement goes through a reflective proxy
+    private boolean enabled = false;
+    // Count rows read from result sets; proxies every ResultSet call, including whole-table exports
+    private boolean countResultRows = false;
+    // Statements slower than this many milliseconds are logged
+    private long slowThresholdMs = 200;
+    // Upper bound on distinct statement shapes tracked
+    private int maxShapes = 2000;
+}
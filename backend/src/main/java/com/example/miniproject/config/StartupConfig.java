@@ -0,0 +1,28 @@
+package com.example.miniproject.config;
+
+import com.example.miniproject.audit.AuditLog;
+import com.example.miniproject.monitoring.StartupReport;
+import com.example.miniproject.security.TokenRevocationStore;
+import com.example.miniproject.service.AuditColumnBackfill;
+import com.example.miniproject.service.NamePrefixIndex;
+import com.example.miniproject.service.UserChangeBus;
+import com.example.miniproject.service.UserStatistics;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans that stay eager under spring.main.lazy-initialization: they load
+     * state at startup, register @Scheduled jobs (only done when a bean is
+     * created) or must be ready before the first request
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(AuditLog.class, TokenRevocationStore.class,
+                NamePrefixIndex.class, UserStatistics.class, UserChangeBus.class, AuditColumnBackfill.class,
+                StartupReport.class);
+    }
+}
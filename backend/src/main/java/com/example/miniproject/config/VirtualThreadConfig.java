@@ -0,0 +1,52 @@
+package com.example.miniproject.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Opt-in virtual thread mode (Java 21+): Tomcat runs each request on its own
+ * virtual thread instead of a fixed worker pool, so requests blocked on
+ * BCrypt, JDBC or slow clients no longer cap concurrency. Streaming and SSE
+ * bodies written asynchronously run on virtual threads as well.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    /**
+     * Runs Tomcat's request processing; shut down after the web server has stopped
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService tomcatVirtualThreadExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor("tomcat-");
+    }
+
+    /**
+     * Writes streaming and SSE response bodies asynchronously
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService mvcAsyncVirtualThreadExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor("mvc-async-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Serving requests on virtual threads");
+        ExecutorService executor = tomcatVirtualThreadExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(mvcAsyncVirtualThreadExecutor()));
+    }
+}
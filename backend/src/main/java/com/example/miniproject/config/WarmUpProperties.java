@@ -0,0 +1,19 @@
+package com.example.miniproject.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "warmup")
+public class WarmUpProperties {
+    private boolean enabled = false;
+    // Milliseconds the warm-up may delay readiness
+    private long maxDuration = 15_000;
+    private int maxIterations = 2_000;
+    // BCrypt is slow by design; verify a password only every this many iterations
+    private int bcryptPeriod = 50;
+}
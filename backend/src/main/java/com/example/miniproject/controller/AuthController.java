@@ -2,18 +2,25 @@ package com.example.miniproject.controller;
 
 import com.example.miniproject.dto.AuthRequest;
 import com.example.miniproject.dto.AuthResponse;
+import com.example.miniproject.dto.RevokeTokenRequest;
 import com.example.miniproject.service.AuthenticationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -50,4 +57,40 @@ public class AuthController {
     public ResponseEntity<AuthResponse> authenticate(@Valid @RequestBody AuthRequest request) {
         return ResponseEntity.ok(authenticationService.authenticate(request));
     }
+
+    @PostMapping("/logout")
+    @Operation(
+        summary = "Log out",
+        description = "Revoke the bearer token sent with this request so it can no longer be used",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Token revoked"),
+        @ApiResponse(responseCode = "401", description = "Missing or invalid token", content = @Content)
+    })
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!StringUtils.hasText(authorization) || !authorization.startsWith("Bearer ")) {
+            throw new BadCredentialsException("Missing bearer token");
+        }
+        authenticationService.revoke(authorization.substring(7));
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/revoke")
+    @Operation(
+        summary = "Revoke a token",
+        description = "Revoke any issued token before it expires (requires ADMIN role)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Token revoked"),
+        @ApiResponse(responseCode = "401", description = "Invalid token", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires admin role", content = @Content)
+    })
+    public ResponseEntity<Void> revoke(@Valid @RequestBody RevokeTokenRequest request) {
+        authenticationService.revoke(request.getToken());
+        return ResponseEntity.noContent().build();
+    }
 }
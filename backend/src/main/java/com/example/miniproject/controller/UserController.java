@@ -1,10 +1,29 @@
 package com.example.miniproject.controller;
 
+import com.example.miniproject.config.ChangeExportProperties;
+import com.example.miniproject.config.ChangeFeedProperties;
 import com.example.miniproject.dto.BatchImportResponse;
+import com.example.miniproject.dto.SeedJobResponse;
+import com.example.miniproject.dto.UserChangeEvent;
+import com.example.miniproject.dto.UserLookupRequest;
+import com.example.miniproject.dto.UserLookupResponse;
+import com.example.miniproject.dto.UserPageResponse;
 import com.example.miniproject.dto.UserResponse;
+import com.example.miniproject.dto.UserSearchCriteria;
+import com.example.miniproject.dto.UserStatsResponse;
+import com.example.miniproject.dto.UserSummary;
+import com.example.miniproject.exception.BadRequestException;
+import com.example.miniproject.exception.ServiceUnavailableException;
+import com.example.miniproject.mapper.UserJsonCodec;
+import com.example.miniproject.model.Role;
 import com.example.miniproject.model.User;
+import com.example.miniproject.service.ChangeCursor;
+import com.example.miniproject.service.ExportFormat;
+import com.example.miniproject.service.ProfileFields;
+import com.example.miniproject.service.SeedService;
+import com.example.miniproject.service.UserChangeBus;
+import com.example.miniproject.service.UserExportService;
 import com.example.miniproject.service.UserService;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,9 +33,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,8 +48,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/users")
@@ -35,8 +64,18 @@ import java.util.List;
 @Tag(name = "Users", description = "User management APIs")
 public class UserController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String GZIP_CONTENT_TYPE = "application/gzip";
+    // Profiles are per user and may change at any time, so clients must revalidate with the ETag
+    private static final CacheControl PROFILE_CACHE = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
-    private final ObjectMapper objectMapper;
+    private final SeedService seedService;
+    private final UserExportService userExportService;
+    private final UserJsonCodec userJsonCodec;
+    private final UserChangeBus userChangeBus;
+    private final ChangeFeedProperties changeFeedProperties;
+    private final ChangeExportProperties changeExportProperties;
 
     @GetMapping("/generate")
     @Operation(summary = "Generate random users", description = "Generates a specified number of random users and returns them as a JSON file")
@@ -54,7 +93,7 @@ public class UserController {
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users.json");
         
-        objectMapper.writeValue(response.getOutputStream(), users);
+        userJsonCodec.writeUsers(response.getOutputStream(), users);
     }
 
     @PostMapping("/batch")
@@ -71,12 +110,282 @@ public class UserController {
             @Parameter(description = "JSON file containing user data", required = true)
             @RequestParam("file") MultipartFile file) throws Exception {
         
-        List<User> users = objectMapper.readValue(file.getInputStream(),
-                objectMapper.getTypeFactory().constructCollectionType(List.class, User.class));
+        List<User> users = userJsonCodec.readUsers(file.getInputStream());
         
         return ResponseEntity.ok(userService.importUsers(users));
     }
 
+    @PostMapping("/seed")
+    @Operation(
+        summary = "Seed generated users",
+        description = "Generates users server-side and bulk-inserts them in the background (requires ADMIN role)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "202",
+            description = "Seeding job started",
+            content = @Content(schema = @Schema(implementation = SeedJobResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid count, or fast hashing requested outside the dev profile"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires admin role")
+    })
+    public ResponseEntity<SeedJobResponse> seedUsers(
+            @Parameter(description = "Number of users to insert", required = true)
+            @RequestParam @Min(1) long count,
+            @Parameter(description = "Random seed; the same seed produces the same users")
+            @RequestParam(defaultValue = "42") long seed,
+            @Parameter(description = "Hash passwords with a low BCrypt cost (dev profile only)")
+            @RequestParam(defaultValue = "false") boolean fastHashing) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(seedService.startSeeding(count, seed, fastHashing));
+    }
+
+    @GetMapping("/seed/{id}")
+    @Operation(
+        summary = "Get seeding progress",
+        description = "Returns the progress of a seeding job (requires ADMIN role)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Job progress",
+            content = @Content(schema = @Schema(implementation = SeedJobResponse.class))
+        ),
+        @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<SeedJobResponse> getSeedJob(
+            @Parameter(description = "Seeding job id", required = true)
+            @PathVariable String id) {
+        return ResponseEntity.ok(seedService.getJob(id));
+    }
+
+    @GetMapping
+    @Operation(
+        summary = "List users",
+        description = "Lists users ordered by id using keyset pagination (requires ADMIN role)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Page of users",
+            content = @Content(schema = @Schema(implementation = UserPageResponse.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires admin role")
+    })
+    public ResponseEntity<UserPageResponse> listUsers(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int size) {
+        return ResponseEntity.ok(userService.listUsers(after, size));
+    }
+
+    @GetMapping("/search")
+    @Operation(
+        summary = "Search users",
+        description = "Finds users by country, company, city, job position, role and first/last name prefix (requires ADMIN role)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching users ordered by id"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires admin role")
+    })
+    public ResponseEntity<List<UserSummary>> searchUsers(
+            @Parameter(description = "ISO2 country code") @RequestParam(required = false) String country,
+            @Parameter(description = "Company name") @RequestParam(required = false) String company,
+            @Parameter(description = "City") @RequestParam(required = false) String city,
+            @Parameter(description = "Job position") @RequestParam(required = false) String jobPosition,
+            @Parameter(description = "Role (ADMIN or USER)") @RequestParam(required = false) String role,
+            @Parameter(description = "Prefix of the first or last name, at least 2 characters")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "Maximum number of results")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int limit) {
+        Role parsedRole = null;
+        if (role != null) {
+            parsedRole = Role.fromString(role);
+            if (parsedRole == null) {
+                throw new BadRequestException("Unknown role: " + role);
+            }
+        }
+        UserSearchCriteria criteria = UserSearchCriteria.builder()
+                .country(country)
+                .company(company)
+                .city(city)
+                .jobPosition(jobPosition)
+                .role(parsedRole)
+                .namePrefix(name)
+                .build();
+        return ResponseEntity.ok(userService.searchUsers(criteria, limit));
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+        summary = "User statistics",
+        description = "Counts of users by country, role, company and age bucket, served from memory (requires ADMIN role)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires admin role")
+    })
+    public ResponseEntity<UserStatsResponse> getStatistics() {
+        return ResponseEntity.ok(userService.getStatistics());
+    }
+
+    @PostMapping("/lookup")
+    @Operation(
+        summary = "Look up several users",
+        description = "Resolves up to 1000 usernames in one call (requires ADMIN role)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Profiles found, keyed by username, plus the usernames that do not exist",
+            content = @Content(schema = @Schema(implementation = UserLookupResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized username list, or a blank username"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires admin role")
+    })
+    public ResponseEntity<UserLookupResponse> lookupUsers(@Valid @RequestBody UserLookupRequest request) {
+        return ResponseEntity.ok(userService.lookupUsers(request.getUsernames()));
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export all users",
+        description = "Streams every user (without password hashes) as JSON, NDJSON or CSV (requires ADMIN role)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export stream"),
+        @ApiResponse(responseCode = "400", description = "Unknown format"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires admin role")
+    })
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @Parameter(description = "json, ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Gzip-compress the stream")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        if (exportFormat == null) {
+            throw new BadRequestException("Unknown export format: " + format);
+        }
+        return streamExport(exportFormat, gzip, "users", null,
+                out -> userExportService.export(exportFormat, out));
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Export changed users",
+        description = "Streams users created or updated after the given cursor, ordered by change time. "
+                + "The X-Next-Cursor response header is the cursor for the next call (requires ADMIN role)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Change stream"),
+        @ApiResponse(responseCode = "400", description = "Unknown format or invalid cursor"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires admin role")
+    })
+    public ResponseEntity<StreamingResponseBody> exportChanges(
+            @Parameter(description = "Cursor from a previous call; omit for a full initial sync")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "json, ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Gzip-compress the stream")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        if (exportFormat == null) {
+            throw new BadRequestException("Unknown export format: " + format);
+        }
+        ChangeCursor from = since == null ? ChangeCursor.START : ChangeCursor.decode(since);
+        // Stop short of "now" so rows from transactions still in flight are picked up by the next call
+        Instant until = Instant.now().minus(changeExportProperties.getCommitLag());
+        String nextCursor = new ChangeCursor(until, Long.MAX_VALUE).encode();
+        return streamExport(exportFormat, gzip, "user-changes", nextCursor,
+                out -> userExportService.exportChanges(exportFormat, out, from, until));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamExport(ExportFormat exportFormat, boolean gzip,
+                                                               String name, String nextCursor,
+                                                               StreamingResponseBody export) {
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024)) {
+                    export.writeTo(gzipOut);
+                }
+            } else {
+                export.writeTo(out);
+            }
+        };
+        String filename = name + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        // A .gz attachment is a gzip file, not a transfer-encoded body clients would silently decompress
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? GZIP_CONTENT_TYPE : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream user changes",
+        description = "Server-sent events for users created by imports (\"created\") and seeding (\"seeded\"). "
+                + "Slow clients lose the oldest events or are disconnected and should resync with /changes (requires ADMIN role)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event stream"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Requires admin role"),
+        @ApiResponse(responseCode = "503", description = "Subscriber limit reached")
+    })
+    public ResponseEntity<SseEmitter> streamChanges() {
+        SseEmitter emitter = new SseEmitter(changeFeedProperties.getEmitterTimeout());
+        UserChangeBus.Subscription subscription;
+        try {
+            subscription = userChangeBus.subscribe(new UserChangeBus.Subscriber() {
+                @Override
+                public void onEvent(UserChangeEvent event) throws IOException {
+                    emitter.send(SseEmitter.event()
+                            .name(event.getType().name().toLowerCase(Locale.ROOT))
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void onHeartbeat() throws IOException {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+
+                @Override
+                public void onClose(String reason) {
+                    emitter.complete();
+                }
+            });
+        } catch (ServiceUnavailableException e) {
+            // An error body cannot be rendered as text/event-stream, so answer with the bare status
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return ResponseEntity.ok(emitter);
+    }
+
     @GetMapping("/me")
     @Operation(
         summary = "Get current user profile",
@@ -89,11 +398,16 @@ public class UserController {
             description = "Profile retrieved successfully",
             content = @Content(schema = @Schema(implementation = UserResponse.class))
         ),
+        @ApiResponse(responseCode = "304", description = "Profile unchanged since the given ETag"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "404", description = "User not found")
     })
-    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(userService.getUserByUsername(userDetails.getUsername()));
+    public ResponseEntity<?> getCurrentUser(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Comma-separated UserResponse properties to return, e.g. firstName,email; all when omitted")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalProfile(userDetails.getUsername(), fields, ifNoneMatch);
     }
 
     @GetMapping("/{username}")
@@ -109,13 +423,47 @@ public class UserController {
             description = "Profile retrieved successfully",
             content = @Content(schema = @Schema(implementation = UserResponse.class))
         ),
+        @ApiResponse(responseCode = "304", description = "Profile unchanged since the given ETag"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - Requires admin role"),
         @ApiResponse(responseCode = "404", description = "User not found")
     })
-    public ResponseEntity<UserResponse> getUserByUsername(
+    public ResponseEntity<?> getUserByUsername(
             @Parameter(description = "Username of the user to retrieve", required = true)
-            @PathVariable String username) {
-        return ResponseEntity.ok(userService.getUserByUsername(username));
+            @PathVariable String username,
+            @Parameter(description = "Comma-separated UserResponse properties to return, e.g. firstName,email; all when omitted")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalProfile(username, fields, ifNoneMatch);
+    }
+
+    /**
+     * Answer with 304 from the version lookup alone when the client's copy is current.
+     * With a field selection only the selected columns are read and returned.
+     */
+    private ResponseEntity<?> conditionalProfile(String username, String fields, String ifNoneMatch) {
+        List<String> selected = ProfileFields.parse(fields);
+        String etag = userService.getProfileETag(username, selected);
+        if (matchesAny(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(PROFILE_CACHE).build();
+        }
+        Object profile = selected == null
+                ? userService.getUserByUsername(username)
+                : userService.getProfileFields(username, selected);
+        return ResponseEntity.ok().eTag(etag).cacheControl(PROFILE_CACHE).body(profile);
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses weak comparison
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
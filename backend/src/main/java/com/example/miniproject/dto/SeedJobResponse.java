@@ -0,0 +1,19 @@
+package com.example.miniproject.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class SeedJobResponse {
+    private String id;
+    private String state;
+    private long requested;
+    private long inserted;
+    private double usersPerSecond;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.example.miniproject.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Pushed to /api/users/stream subscribers after a write commits
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserChangeEvent {
+    private Type type;
+    private Instant occurredAt;
+    // Set for single-user events
+    private UserSummary user;
+    // Set for bulk events, which carry no per-user payload
+    private Long count;
+
+    public enum Type {
+        CREATED,
+        SEEDED
+    }
+}
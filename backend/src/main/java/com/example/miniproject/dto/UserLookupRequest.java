@@ -0,0 +1,19 @@
+package com.example.miniproject.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupRequest {
+    @NotEmpty(message = "At least one username is required")
+    @Size(max = 1000, message = "At most 1000 usernames can be looked up at once")
+    private List<@NotBlank(message = "Usernames must not be blank") String> usernames;
+}
@@ -0,0 +1,15 @@
+package com.example.miniproject.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class UserLookupResponse {
+    // Profiles keyed by username
+    private Map<String, UserResponse> users;
+    private List<String> notFound;
+}
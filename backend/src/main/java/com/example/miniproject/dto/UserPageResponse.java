@@ -0,0 +1,14 @@
+package com.example.miniproject.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class UserPageResponse {
+    private List<UserSummary> items;
+    // Pass as 'after' to fetch the next page; null on the last page
+    private Long nextCursor;
+}
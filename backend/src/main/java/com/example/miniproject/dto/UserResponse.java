@@ -1,6 +1,7 @@
 package com.example.miniproject.dto;
 
 import com.example.miniproject.model.Role;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,6 +9,8 @@ import java.time.LocalDate;
 
 @Data
 @Builder
+// Public constructor so JPQL constructor expressions can build this directly
+@AllArgsConstructor
 public class UserResponse {
     private String firstName;
     private String lastName;
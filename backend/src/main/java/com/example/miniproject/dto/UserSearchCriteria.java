@@ -0,0 +1,17 @@
+package com.example.miniproject.dto;
+
+import com.example.miniproject.model.Role;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserSearchCriteria {
+    private String country;
+    private String company;
+    private String city;
+    private String jobPosition;
+    private Role role;
+    // Case-insensitive prefix of the first or last name
+    private String namePrefix;
+}
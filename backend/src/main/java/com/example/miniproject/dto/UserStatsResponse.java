@@ -0,0 +1,16 @@
+package com.example.miniproject.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class UserStatsResponse {
+    private long total;
+    private Map<String, Long> byCountry;
+    private Map<String, Long> byRole;
+    private Map<String, Long> byCompany;
+    private Map<String, Long> byAgeBucket;
+}
@@ -0,0 +1,22 @@
+package com.example.miniproject.dto;
+
+import com.example.miniproject.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lean listing row, built directly by a JPQL constructor expression
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String country;
+    private Role role;
+}
@@ -0,0 +1,21 @@
+package com.example.miniproject.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Expected failure with a fixed HTTP status. These are outcomes, not bugs, so
+ * they skip the stack trace: creating one costs about as much as any object.
+ */
+public abstract class ApiException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    protected ApiException(HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
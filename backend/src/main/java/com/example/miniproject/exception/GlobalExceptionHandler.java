@@ -1,6 +1,9 @@
 package com.example.miniproject.exception;
 
+import com.example.miniproject.monitoring.LogThrottle;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,13 +14,21 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    // Unexpected errors tend to repeat; log each exception type with its stack trace at most once a minute
+    private static final Duration LOG_INTERVAL = Duration.ofMinutes(1);
+
+    private final MeterRegistry meterRegistry;
+    private final LogThrottle logThrottle = new LogThrottle(LOG_INTERVAL);
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentialsException(BadCredentialsException ex) {
         return ResponseEntity
@@ -25,11 +36,11 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), "Invalid credentials"));
     }
 
-    @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<ErrorResponse> handleApiException(ApiException ex) {
         return ResponseEntity
-                .status(HttpStatus.NOT_FOUND)
-                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()));
+                .status(ex.getStatus())
+                .body(new ErrorResponse(ex.getStatus().value(), ex.getMessage()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -74,7 +85,12 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
-        log.error("Unexpected error occurred: " + ex.getMessage(), ex);
+        String type = ex.getClass().getName();
+        meterRegistry.counter("http.server.unexpected_errors", "exception", ex.getClass().getSimpleName()).increment();
+        long suppressed = logThrottle.tryAcquire(type);
+        if (suppressed != LogThrottle.SUPPRESSED) {
+            log.error("Unexpected error occurred ({} similar errors not logged): {}", suppressed, ex.getMessage(), ex);
+        }
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "An unexpected error occurred: " + ex.getMessage()));
@@ -0,0 +1,39 @@
+package com.example.miniproject.mapper;
+
+import com.example.miniproject.model.User;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Reader and writer for user list payloads (generate and batch import),
+ * resolved once from the shared ObjectMapper. Reusing them skips the root
+ * type lookup and serializer/deserializer cache probe on every call.
+ */
+@Component
+public class UserJsonCodec {
+
+    private final ObjectWriter userListWriter;
+    private final ObjectReader userListReader;
+
+    public UserJsonCodec(ObjectMapper objectMapper) {
+        JavaType userListType = objectMapper.getTypeFactory().constructCollectionType(List.class, User.class);
+        this.userListWriter = objectMapper.writerFor(userListType);
+        this.userListReader = objectMapper.readerFor(userListType);
+    }
+
+    public void writeUsers(OutputStream out, List<User> users) throws IOException {
+        userListWriter.writeValue(out, users);
+    }
+
+    public List<User> readUsers(InputStream in) throws IOException {
+        return userListReader.readValue(in);
+    }
+}
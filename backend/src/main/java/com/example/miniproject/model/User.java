@@ -1,5 +1,6 @@
 package com.example.miniproject.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Data
@@ -14,7 +16,17 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Composite indexes backing the equality filters of /api/users/search
+    @Index(name = "idx_users_country_city", columnList = "country, city"),
+    @Index(name = "idx_users_company_country", columnList = "company, country"),
+    @Index(name = "idx_users_job_position_country", columnList = "jobPosition, country"),
+    @Index(name = "idx_users_role_country", columnList = "role, country"),
+    // City filters without a country cannot use idx_users_country_city
+    @Index(name = "idx_users_city", columnList = "city"),
+    // Keyset order of /api/users/changes
+    @Index(name = "idx_users_updated_at_id", columnList = "updatedAt, id")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -65,7 +77,31 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // Audit timestamps, maintained by the lifecycle callbacks below; not part of import/generate payloads
+    @JsonIgnore
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    @JsonIgnore
+    private Instant updatedAt;
+
+    // Optimistic lock version, bumped on every update; also the profile ETag
+    @JsonIgnore
+    @Version
+    private Long version;
+
     public void setRole(String role) {
         this.role = Role.fromString(role);
     }
+
+    @PrePersist
+    void onCreate() {
+        createdAt = Instant.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now();
+    }
 }
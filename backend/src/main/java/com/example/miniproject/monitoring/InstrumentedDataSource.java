@@ -0,0 +1,156 @@
+package com.example.miniproject.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that times connection acquisition and every statement
+ * execution and counts returned rows, feeding {@link SqlStatistics}.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final SqlStatistics statistics;
+
+    public InstrumentedDataSource(DataSource target, SqlStatistics statistics) {
+        super(target);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        statistics.recordConnectionWait(System.nanoTime() - start);
+        return wrapConnection(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        statistics.recordConnectionWait(System.nanoTime() - start);
+        return wrapConnection(connection);
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("unwrap".equals(name) && args[0] == Connection.class) {
+                return target;
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrapStatement(statement, CallableStatement.class, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(statement, PreparedStatement.class, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(statement, Statement.class, null);
+            }
+            return result;
+        }
+
+        private Object wrapStatement(Statement statement, Class<?> type, String sql) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {type}, new StatementHandler(statement, sql));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                return InstrumentedDataSource.invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String raw ? raw : preparedSql;
+            if (sql == null) {
+                // executeBatch on a plain Statement; shapes of the batched SQL are not tracked
+                return InstrumentedDataSource.invoke(target, method, args);
+            }
+            SqlStatistics.ShapeStats stats = statistics.forSql(sql);
+            long start = System.nanoTime();
+            boolean failed = false;
+            Object result = null;
+            try {
+                result = InstrumentedDataSource.invoke(target, method, args);
+                return result instanceof ResultSet resultSet && statistics.isCountingResultRows()
+                        ? wrapResultSet(resultSet, stats)
+                        : result;
+            } catch (Throwable e) {
+                failed = true;
+                throw e;
+            } finally {
+                statistics.recordExecution(stats, sql, System.nanoTime() - start, updateCount(result), failed);
+            }
+        }
+
+        private long updateCount(Object result) {
+            if (result instanceof Integer count) {
+                return count;
+            }
+            if (result instanceof Long count) {
+                return count;
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            return -1;
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet, SqlStatistics.ShapeStats stats) {
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                        Object result = InstrumentedDataSource.invoke(resultSet, method, args);
+                        if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                            stats.addRow();
+                        }
+                        return result;
+                    });
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.miniproject.monitoring;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets one log line per failure class through each interval and counts the
+ * rest, so a burst of identical failures costs one line that reports how many
+ * were suppressed instead of one line (and stack trace) per request.
+ * Keys should come from a small fixed set such as a reason or exception class.
+ */
+public final class LogThrottle {
+
+    /**
+     * Returned by {@link #tryAcquire(String)} when the caller must not log
+     */
+    public static final long SUPPRESSED = -1;
+
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LogThrottle(Duration interval) {
+        this(interval, System::nanoTime);
+    }
+
+    LogThrottle(Duration interval, LongSupplier nanoClock) {
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return {@link #SUPPRESSED} if this occurrence should not be logged,
+     * otherwise the number of occurrences suppressed since the last logged one
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Window window = windows.computeIfAbsent(key, k -> new Window(now));
+        long next = window.nextAllowed.get();
+        if (now - next >= 0 && window.nextAllowed.compareAndSet(next, now + intervalNanos)) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return SUPPRESSED;
+    }
+
+    private static final class Window {
+        private final AtomicLong nextAllowed;
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Window(long now) {
+            this.nextAllowed = new AtomicLong(now);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.miniproject.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Per-request phase timings reported through the Server-Timing header.
+ * Call sites use {@link #start()} and {@link #stop(String, long)}; when the
+ * current request is not sampled both are a thread-local read and nothing
+ * is allocated.
+ */
+public final class RequestTimings {
+
+    private static final int MAX_PHASES = 16;
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final String[] names = new String[MAX_PHASES];
+    private final long[] durations = new long[MAX_PHASES];
+    private final long startedAt = System.nanoTime();
+    private int size;
+    private long serializationStartedAt;
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return a start timestamp, or 0 if the current request is not being timed
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Record a phase that began at a timestamp returned by {@link #start()}
+     */
+    public static void stop(String phase, long start) {
+        if (start == 0L) {
+            return;
+        }
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, System.nanoTime() - start);
+        }
+    }
+
+    static void markSerializationStart() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.serializationStartedAt = System.nanoTime();
+        }
+    }
+
+    void finish() {
+        long now = System.nanoTime();
+        if (serializationStartedAt != 0L) {
+            add("serialize", now - serializationStartedAt);
+        }
+        add("total", now - startedAt);
+    }
+
+    private void add(String phase, long nanos) {
+        // Repeated phases (e.g. two queries) are summed into one entry
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(phase)) {
+                durations[i] += nanos;
+                return;
+            }
+        }
+        if (size < MAX_PHASES) {
+            names[size] = phase;
+            durations[size] = nanos;
+            size++;
+        }
+    }
+
+    /**
+     * Format as a Server-Timing header value, e.g. {@code jwt;dur=0.412, total;dur=3.100}
+     */
+    String toHeaderValue() {
+        StringBuilder header = new StringBuilder(size * 24);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                header.append(", ");
+            }
+            header.append(names[i]).append(";dur=").append(String.format(Locale.ROOT, "%.3f", durations[i] / 1_000_000.0));
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.miniproject.monitoring;
+
+import com.example.miniproject.config.ServerTimingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adds a Server-Timing header to a sampled fraction of requests. The body of
+ * sampled responses is buffered so the header can include serialization time.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final ServerTimingProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()
+                || isExcluded(request.getRequestURI());
+    }
+
+    private boolean isExcluded(String path) {
+        for (String pattern : properties.getExcludedPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            RequestTimings.end();
+            timings.finish();
+            String header = timings.toHeaderValue();
+            wrapper.setHeader(HEADER, header);
+            if (properties.isLogEnabled()) {
+                log.info("{} {} -> {} [{}]", request.getMethod(), request.getRequestURI(), wrapper.getStatus(), header);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
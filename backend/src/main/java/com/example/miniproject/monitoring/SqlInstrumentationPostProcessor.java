@@ -0,0 +1,31 @@
+package com.example.miniproject.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource bean in an {@link InstrumentedDataSource}.
+ */
+@Component
+public class SqlInstrumentationPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatistics> statistics;
+
+    public SqlInstrumentationPostProcessor(ObjectProvider<SqlStatistics> statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+            SqlStatistics sqlStatistics = statistics.getObject();
+            if (sqlStatistics.isEnabled()) {
+                return new InstrumentedDataSource(dataSource, sqlStatistics);
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.miniproject.monitoring;
+
+import com.example.miniproject.config.SqlMonitoringProperties;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Aggregates JDBC statement latency, row counts and connection wait times
+ * per statement shape (the SQL text with literals replaced by '?').
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlStatistics {
+
+    private static final Logger SLOW_LOG = LoggerFactory.getLogger("sql.slow");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String OTHER_SHAPE = "<other>";
+
+    // Histogram bucket upper bounds in microseconds; the last bucket is unbounded
+    static final long[] BUCKET_BOUNDS_MICROS = {
+        100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 1_000_000
+    };
+
+    private final SqlMonitoringProperties properties;
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final ShapeStats connectionWait = new ShapeStats();
+
+    /**
+     * Resolve the stats entry for a raw SQL string
+     */
+    public ShapeStats forSql(String sql) {
+        String shape = shapeCache.get(sql);
+        if (shape == null) {
+            shape = normalize(sql);
+            if (shapeCache.size() < properties.getMaxShapes() * 4) {
+                shapeCache.put(sql, shape);
+            }
+        }
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= properties.getMaxShapes()) {
+                shape = OTHER_SHAPE;
+            }
+            stats = shapes.computeIfAbsent(shape, key -> new ShapeStats());
+        }
+        return stats;
+    }
+
+    public void recordExecution(ShapeStats stats, String sql, long nanos, long updateCount, boolean failed) {
+        stats.record(nanos);
+        if (updateCount > 0) {
+            stats.rows.add(updateCount);
+        }
+        if (failed) {
+            stats.errors.increment();
+        }
+        long millis = nanos / 1_000_000;
+        if (millis >= properties.getSlowThresholdMs()) {
+            // Only the normalized shape is logged so bind values never reach the log
+            SLOW_LOG.warn("Slow SQL ({} ms{}): {}", millis,
+                    updateCount >= 0 ? ", " + updateCount + " rows" : "", shapeOf(sql));
+        }
+    }
+
+    public void recordConnectionWait(long nanos) {
+        connectionWait.record(nanos);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public boolean isCountingResultRows() {
+        return properties.isCountResultRows();
+    }
+
+    /**
+     * Snapshot of all shapes ordered by total time spent, most expensive first
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> statements = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, ShapeStats> e) -> e.getValue().totalNanos.sum()).reversed())
+                .forEach(e -> statements.put(e.getKey(), e.getValue().summary()));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("connectionWait", connectionWait.summary());
+        result.put("statements", statements);
+        return result;
+    }
+
+    public void reset() {
+        shapes.clear();
+        connectionWait.reset();
+    }
+
+    private String shapeOf(String sql) {
+        String shape = shapeCache.get(sql);
+        return shape != null ? shape : normalize(sql);
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public static final class ShapeStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+
+        ShapeStats() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            long micros = nanos / 1_000;
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        public void addRow() {
+            rows.increment();
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            rows.reset();
+            errors.reset();
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+        }
+
+        Map<String, Object> summary() {
+            long n = count.sum();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", n);
+            summary.put("totalMs", totalNanos.sum() / 1_000_000.0);
+            summary.put("meanMs", n == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / n);
+            summary.put("maxMs", maxNanos.get() / 1_000_000.0);
+            summary.put("p50Ms", percentile(n, 0.50));
+            summary.put("p99Ms", percentile(n, 0.99));
+            summary.put("rows", rows.sum());
+            summary.put("errors", errors.sum());
+            return summary;
+        }
+
+        /**
+         * Upper bound of the histogram bucket containing the given quantile
+         */
+        private double percentile(long n, double quantile) {
+            if (n == 0) {
+                return 0.0;
+            }
+            long target = (long) Math.ceil(n * quantile);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= target) {
+                    return BUCKET_BOUNDS_MICROS[i] / 1_000.0;
+                }
+            }
+            return maxNanos.get() / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.miniproject.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Logs time-to-ready and the slowest startup steps recorded by
+ * {@link BufferingApplicationStartup}; the full timeline is served at
+ * /actuator/startup. Runs after every other ready listener, so the time
+ * includes work that holds back readiness, such as the JIT warm-up. With
+ * startup.exit-after-ready the application exits once ready, which is how
+ * the Docker build's CDS training run ends.
+ */
+@Slf4j
+@Component
+public class StartupReport {
+
+    public static final int TIMELINE_CAPACITY = 4096;
+    // Ready listeners that delay readiness must order themselves before this one
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE;
+    static final int SLOWEST_STEPS = 10;
+
+    @Value("${startup.exit-after-ready:false}")
+    private boolean exitAfterReady;
+
+    @Order(ORDER)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Ready in {} ms after JVM start, {} ms in Spring", jvmUptime,
+                event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis());
+        ApplicationStartup startup = event.getSpringApplication().getApplicationStartup();
+        if (startup instanceof BufferingApplicationStartup buffering) {
+            logSlowestSteps(buffering.getBufferedTimeline().getEvents());
+        }
+        if (exitAfterReady) {
+            log.info("Exiting after startup (startup.exit-after-ready)");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    private static void logSlowestSteps(List<StartupTimeline.TimelineEvent> events) {
+        slowestSteps(events).forEach(step -> log.info("Startup step {} ms: {} {}", step.getDuration().toMillis(),
+                step.getStartupStep().getName(), describe(step)));
+    }
+
+    static List<StartupTimeline.TimelineEvent> slowestSteps(List<StartupTimeline.TimelineEvent> events) {
+        return events.stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_STEPS)
+                .toList();
+    }
+
+    static String describe(StartupTimeline.TimelineEvent step) {
+        StringBuilder tags = new StringBuilder();
+        step.getStartupStep().getTags().forEach(tag -> tags.append(tag.getKey()).append('=').append(tag.getValue()).append(' '));
+        return tags.toString().trim();
+    }
+}
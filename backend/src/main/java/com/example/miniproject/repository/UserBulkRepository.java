@@ -0,0 +1,83 @@
+package com.example.miniproject.repository;
+
+import com.example.miniproject.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Plain JDBC batch inserts for bulk loads. Spring Data's saveAll cannot batch
+ * inserts for IDENTITY ids and keeps every entity in the persistence context,
+ * so large loads go through here instead.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBulkRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO users (first_name, last_name, birth_date, city, country, "
+            + "avatar, company, job_position, mobile, username, email, password, role, created_at, updated_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert users in JDBC batches of the given size, all or none of them
+     * @param users users with already encoded passwords
+     * @return number of rows inserted
+     */
+    @Transactional
+    public int insertAll(List<User> users, int batchSize) {
+        // Entity lifecycle callbacks do not run for plain JDBC, so stamp the audit and version columns here
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, users, batchSize, (ps, user) -> {
+            ps.setString(1, user.getFirstName());
+            ps.setString(2, user.getLastName());
+            ps.setDate(3, Date.valueOf(user.getBirthDate()));
+            ps.setString(4, user.getCity());
+            ps.setString(5, user.getCountry());
+            ps.setString(6, user.getAvatar());
+            ps.setString(7, user.getCompany());
+            ps.setString(8, user.getJobPosition());
+            ps.setString(9, user.getMobile());
+            ps.setString(10, user.getUsername());
+            ps.setString(11, user.getEmail());
+            ps.setString(12, user.getPassword());
+            ps.setString(13, user.getRole().name());
+            ps.setObject(14, now);
+            ps.setObject(15, now);
+        });
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers may report SUCCESS_NO_INFO (-2) for batched rows
+                inserted += count == -2 ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Give rows created before the version column existed an initial version
+     * @return number of rows updated
+     */
+    public int backfillVersions() {
+        return jdbcTemplate.update("UPDATE users SET version = 0 WHERE version IS NULL");
+    }
+
+    /**
+     * Stamp rows created before the audit columns existed
+     * @return number of rows updated
+     */
+    public int backfillTimestamps() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        return jdbcTemplate.update(
+                "UPDATE users SET created_at = COALESCE(created_at, ?), updated_at = ? WHERE updated_at IS NULL",
+                now, now);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.miniproject.repository;
+
+/**
+ * Interface projection for GROUP BY counts used to build the user statistics
+ */
+public interface UserCountView {
+    Object getBucket();
+
+    long getCount();
+}
@@ -0,0 +1,12 @@
+package com.example.miniproject.repository;
+
+/**
+ * Interface projection used to build the in-memory name prefix index
+ */
+public interface UserNameView {
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+}
@@ -1,15 +1,20 @@
 package com.example.miniproject.repository;
 
+import com.example.miniproject.dto.UserResponse;
+import com.example.miniproject.dto.UserSummary;
 import com.example.miniproject.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserSearchRepository {
     
     /**
      * Find a user by username
@@ -18,6 +23,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsername(String username);
     
+    /**
+     * Read a profile by username straight into the response DTO.
+     * No entity is hydrated or tracked and the password column is never selected.
+     * @param username the username to search for
+     * @return Optional containing the profile if found
+     */
+    @Query("SELECT new com.example.miniproject.dto.UserResponse(u.firstName, u.lastName, u.birthDate, u.city, "
+            + "u.country, u.avatar, u.company, u.jobPosition, u.mobile, u.username, u.email, u.role) "
+            + "FROM User u WHERE u.username = :username")
+    Optional<UserResponse> findProfileByUsername(@Param("username") String username);
+    
+    /**
+     * Read only the id and version of a user, enough to answer conditional profile requests
+     * @param username the username to search for
+     * @return Optional containing the id and version if found
+     */
+    @Query("SELECT u.id AS id, u.version AS version FROM User u WHERE u.username = :username")
+    Optional<UserVersionView> findVersionByUsername(@Param("username") String username);
+    
+    /**
+     * Read the profiles of several usernames in one query
+     * @param usernames the usernames to look up; keep the list bounded, it becomes an IN clause
+     * @return profiles of the usernames that exist
+     */
+    @Query("SELECT new com.example.miniproject.dto.UserResponse(u.firstName, u.lastName, u.birthDate, u.city, "
+            + "u.country, u.avatar, u.company, u.jobPosition, u.mobile, u.username, u.email, u.role) "
+            + "FROM User u WHERE u.username IN :usernames")
+    List<UserResponse> findProfilesByUsernameIn(@Param("usernames") Collection<String> usernames);
+    
     /**
      * Find a user by email
      * @param email the email to search for
@@ -46,4 +80,39 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u WHERE u.username = :identifier OR u.email = :identifier")
     Optional<User> findByUsernameOrEmail(@Param("identifier") String identifier);
+
+    /**
+     * Keyset page of users with an id greater than the cursor, ordered by id.
+     * Only the listed columns are selected, so the password is never loaded.
+     * @param afterId id of the last row of the previous page (0 for the first page)
+     * @param pageable page size; the page number must be 0
+     * @return at most pageable.getPageSize() rows
+     */
+    @Query("SELECT new com.example.miniproject.dto.UserSummary(u.id, u.username, u.email, u.firstName, u.lastName, u.country, u.role) "
+            + "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of id and name columns, used to build the name prefix index
+     * @param afterId id of the last row of the previous page
+     * @param pageable page size; the page number must be 0
+     * @return at most pageable.getPageSize() rows ordered by id
+     */
+    @Query("SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserNameView> findNamesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * User counts per country, role, company and birth year, used once at startup to seed the statistics
+     */
+    @Query("SELECT u.country AS bucket, COUNT(u) AS count FROM User u GROUP BY u.country")
+    List<UserCountView> countByCountry();
+
+    @Query("SELECT u.role AS bucket, COUNT(u) AS count FROM User u GROUP BY u.role")
+    List<UserCountView> countByRole();
+
+    @Query("SELECT u.company AS bucket, COUNT(u) AS count FROM User u GROUP BY u.company")
+    List<UserCountView> countByCompany();
+
+    @Query("SELECT YEAR(u.birthDate) AS bucket, COUNT(u) AS count FROM User u GROUP BY YEAR(u.birthDate)")
+    List<UserCountView> countByBirthYear();
 }
@@ -0,0 +1,30 @@
+package com.example.miniproject.repository;
+
+import com.example.miniproject.dto.UserSearchCriteria;
+import com.example.miniproject.dto.UserSummary;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface UserSearchRepository {
+
+    /**
+     * Find users matching every non-null equality filter of the criteria
+     * @param criteria filters; the name prefix is matched in SQL only when ids is null
+     * @param ids every user matching the name prefix, resolved from the in-memory index,
+     *            or null to match the prefix (if any) in the query
+     * @param limit maximum number of rows
+     * @return matching users ordered by id
+     */
+    List<UserSummary> search(UserSearchCriteria criteria, Collection<Long> ids, int limit);
+
+    /**
+     * Read only the given profile columns of a user
+     * @param username the username to search for
+     * @param fields User attribute names to select
+     * @return the selected values keyed by attribute name, in the given order
+     */
+    Optional<Map<String, Object>> findProfileFields(String username, List<String> fields);
+}
@@ -0,0 +1,116 @@
+package com.example.miniproject.repository;
+
+import com.example.miniproject.dto.UserSearchCriteria;
+import com.example.miniproject.dto.UserSummary;
+import com.example.miniproject.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds the search query from only the filters that are present, so the
+ * database can pick the matching composite index instead of evaluating
+ * "param IS NULL OR column = param" for every row.
+ */
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserSummary> search(UserSearchCriteria criteria, Collection<Long> ids, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserSummary> query = cb.createQuery(UserSummary.class);
+        Root<User> user = query.from(User.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getCountry() != null) {
+            predicates.add(cb.equal(user.get("country"), criteria.getCountry()));
+        }
+        if (criteria.getCity() != null) {
+            predicates.add(cb.equal(user.get("city"), criteria.getCity()));
+        }
+        if (criteria.getCompany() != null) {
+            predicates.add(cb.equal(user.get("company"), criteria.getCompany()));
+        }
+        if (criteria.getJobPosition() != null) {
+            predicates.add(cb.equal(user.get("jobPosition"), criteria.getJobPosition()));
+        }
+        if (criteria.getRole() != null) {
+            predicates.add(cb.equal(user.get("role"), criteria.getRole()));
+        }
+        if (ids != null) {
+            predicates.add(user.get("id").in(ids));
+        } else if (criteria.getNamePrefix() != null) {
+            // Only reached for prefixes too broad for the index, so with ORDER BY id the
+            // scan meets enough matches to fill the limit after a short stretch of the table
+            String pattern = escapeLike(criteria.getNamePrefix().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(user.get("firstName")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(user.get("lastName")), pattern, LIKE_ESCAPE)));
+        }
+
+        query.select(cb.construct(UserSummary.class,
+                        user.get("id"), user.get("username"), user.get("email"), user.get("firstName"),
+                        user.get("lastName"), user.get("country"), user.get("role")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(user.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findProfileFields(String username, List<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> user = query.from(User.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(user.get(field).alias(field));
+        }
+        query.multiselect(selections)
+                .where(cb.equal(user.get("username"), username));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(1)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, Object> profile = new LinkedHashMap<>();
+        for (String field : fields) {
+            profile.put(field, rows.get(0).get(field));
+        }
+        return Optional.of(profile);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.miniproject.repository;
+
+/**
+ * Interface projection of the columns that identify a profile revision
+ */
+public interface UserVersionView {
+    Long getId();
+
+    Long getVersion();
+}
@@ -1,5 +1,10 @@
 package com.example.miniproject.security;
 
+import com.example.miniproject.monitoring.LogThrottle;
+import com.example.miniproject.monitoring.RequestTimings;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,44 +15,99 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Duration LOG_INTERVAL = Duration.ofMinutes(1);
+
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationStore revocationStore;
+    private final MeterRegistry meterRegistry;
+    private Timer authenticatedTimer;
+    private Timer anonymousTimer;
+    private final LogThrottle logThrottle = new LogThrottle(LOG_INTERVAL);
+
+    @Override
+    protected void initFilterBean() {
+        authenticatedTimer = filterTimer("authenticated");
+        anonymousTimer = filterTimer("anonymous");
+    }
+
+    private Timer filterTimer(String outcome) {
+        return Timer.builder("jwt.filter")
+                .description("Time spent authenticating requests from bearer tokens")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean authenticated = false;
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            long phaseStart = RequestTimings.start();
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.getValidatedClaims(jwt) : null;
+            RequestTimings.stop("jwt", phaseStart);
+
+            if (claims != null && !revocationStore.isRevoked(claims.getId())) {
+                String username = claims.getSubject();
+                phaseStart = RequestTimings.start();
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                RequestTimings.stop("auth-user", phaseStart);
                 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                authenticated = true;
             }
+        } catch (UsernameNotFoundException ex) {
+            // A valid token for a user that no longer exists: expected, so no stack trace
+            failed(ex, false);
         } catch (Exception ex) {
-            log.error("Could not set user authentication in security context", ex);
+            failed(ex, true);
         }
+        (authenticated ? authenticatedTimer : anonymousTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Count every failure but log each exception type at most once per interval,
+     * so a misbehaving client cannot turn logging into the bottleneck
+     */
+    private void failed(Exception ex, boolean withStackTrace) {
+        meterRegistry.counter("jwt.filter.errors", "exception", ex.getClass().getSimpleName()).increment();
+        long suppressed = logThrottle.tryAcquire(ex.getClass().getName());
+        if (suppressed == LogThrottle.SUPPRESSED) {
+            return;
+        }
+        if (withStackTrace) {
+            log.error("Could not set user authentication in security context ({} similar failures not logged)",
+                    suppressed, ex);
+        } else {
+            log.warn("Could not set user authentication in security context: {} ({} similar failures not logged)",
+                    ex.getMessage(), suppressed);
+        }
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
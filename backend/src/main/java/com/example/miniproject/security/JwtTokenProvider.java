@@ -1,8 +1,12 @@
 package com.example.miniproject.security;
 
 import com.example.miniproject.config.JwtProperties;
+import com.example.miniproject.monitoring.LogThrottle;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,27 +15,57 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    private static final Duration LOG_INTERVAL = Duration.ofMinutes(1);
+
     private final JwtProperties jwtProperties;
+    private final MeterRegistry meterRegistry;
     private Key key;
+    private Timer signTimer;
+    private Timer verifyTimer;
+    private final Map<Rejection, Counter> rejectedCounters = new EnumMap<>(Rejection.class);
+    private final LogThrottle logThrottle = new LogThrottle(LOG_INTERVAL);
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.signTimer = Timer.builder("jwt.sign")
+                .description("Time spent signing tokens")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("Time spent parsing and verifying tokens")
+                .register(meterRegistry);
+        for (Rejection rejection : Rejection.values()) {
+            rejectedCounters.put(rejection, Counter.builder("jwt.rejected")
+                    .description("Tokens rejected during verification")
+                    .tag("reason", rejection.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
     }
 
     public String generateToken(Authentication authentication) {
+        return signTimer.record(() -> buildToken(authentication));
+    }
+
+    private String buildToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtProperties.getExpiration());
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
@@ -50,23 +84,63 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return getValidatedClaims(token) != null;
+    }
+
+    /**
+     * Parse and verify a token in one pass
+     * @return the token claims, or null if the token is invalid or expired
+     */
+    public Claims getValidatedClaims(String token) {
+        long start = System.nanoTime();
         try {
-            Jwts.parserBuilder()
+            return Jwts.parserBuilder()
                     .setSigningKey(key)
                     .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException ex) {
-            log.error("Invalid JWT signature");
+                    .parseClaimsJws(token)
+                    .getBody();
+        } catch (io.jsonwebtoken.security.SecurityException ex) {
+            reject(Rejection.SIGNATURE);
         } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token");
+            reject(Rejection.MALFORMED);
         } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token");
+            reject(Rejection.EXPIRED);
         } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token");
+            reject(Rejection.UNSUPPORTED);
         } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty");
+            reject(Rejection.EMPTY);
+        } catch (JwtException ex) {
+            reject(Rejection.OTHER);
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return null;
+    }
+
+    /**
+     * Bad tokens are client errors and arrive in bursts during scans: count
+     * every one, but log each reason at most once per interval
+     */
+    private void reject(Rejection rejection) {
+        rejectedCounters.get(rejection).increment();
+        long suppressed = logThrottle.tryAcquire(rejection.name());
+        if (suppressed != LogThrottle.SUPPRESSED) {
+            log.warn("Rejected JWT: {} ({} similar rejections not logged)", rejection.message, suppressed);
+        }
+    }
+
+    private enum Rejection {
+        SIGNATURE("invalid signature"),
+        MALFORMED("malformed token"),
+        EXPIRED("expired token"),
+        UNSUPPORTED("unsupported token"),
+        EMPTY("empty claims"),
+        OTHER("invalid token");
+
+        private final String message;
+
+        Rejection(String message) {
+            this.message = message;
         }
-        return false;
     }
 }
@@ -0,0 +1,149 @@
+package com.example.miniproject.security;
+
+import com.example.miniproject.config.JwtProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory revocation list keyed by the token id (jti claim).
+ * Lookups are a single hash probe, entries are dropped once the token
+ * itself has expired, and the list is optionally persisted to a file.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationStore {
+
+    private final JwtProperties jwtProperties;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // Guards file writes; a lock rather than synchronized so blocking IO does not pin virtual threads
+    private final ReentrantLock fileLock = new ReentrantLock();
+    private Path file;
+
+    @PostConstruct
+    public void init() {
+        if (StringUtils.hasText(jwtProperties.getRevocationFile())) {
+            file = Paths.get(jwtProperties.getRevocationFile());
+            load();
+        }
+    }
+
+    /**
+     * Revoke a token until its expiry time
+     */
+    public void revoke(String tokenId, long expiresAtMillis) {
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        if (revoked.putIfAbsent(tokenId, expiresAtMillis) == null && file != null) {
+            append(tokenId, expiresAtMillis);
+        }
+    }
+
+    /**
+     * Check whether a token id has been revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Drop entries whose token has expired anyway and compact the file
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation-purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        boolean removed = revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        if (removed && file != null) {
+            rewrite();
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                int separator = line.indexOf(' ');
+                if (separator <= 0) {
+                    continue;
+                }
+                try {
+                    long expiresAt = Long.parseLong(line.substring(separator + 1).trim());
+                    if (expiresAt > now) {
+                        revoked.put(line.substring(0, separator), expiresAt);
+                    }
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping malformed revocation entry: {}", line);
+                }
+            }
+            log.info("Loaded {} revoked tokens from {}", revoked.size(), file);
+        } catch (IOException e) {
+            log.warn("Could not read token revocation file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void append(String tokenId, long expiresAtMillis) {
+        fileLock.lock();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(tokenId + " " + expiresAtMillis);
+            writer.newLine();
+        } catch (IOException e) {
+            log.warn("Could not persist revoked token: {}", e.getMessage());
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    private void rewrite() {
+        fileLock.lock();
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> entry : revoked.entrySet()) {
+                    writer.write(entry.getKey() + " " + entry.getValue());
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                log.warn("Could not compact token revocation file: {}", e.getMessage());
+                return;
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Could not replace token revocation file: {}", e.getMessage());
+            }
+        } finally {
+            fileLock.unlock();
+        }
+    }
+}
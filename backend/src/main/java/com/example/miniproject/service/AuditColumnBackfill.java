@@ -0,0 +1,30 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.repository.UserBulkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the change timestamps and version of rows written before those
+ * columns existed, so the first change export after an upgrade includes them
+ * and their profiles get an ETag.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditColumnBackfill {
+
+    private final UserBulkRepository userBulkRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int stamped = userBulkRepository.backfillTimestamps();
+        int versioned = userBulkRepository.backfillVersions();
+        if (stamped > 0 || versioned > 0) {
+            log.info("Backfilled change timestamps for {} and versions for {} users", stamped, versioned);
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.miniproject.service;
 
+import com.example.miniproject.audit.AuditLog;
 import com.example.miniproject.dto.AuthRequest;
 import com.example.miniproject.dto.AuthResponse;
 import com.example.miniproject.security.JwtTokenProvider;
+import com.example.miniproject.security.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -16,22 +22,47 @@ public class AuthenticationService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationStore revocationStore;
+    private final MeterRegistry meterRegistry;
+    private final AuditLog auditLog;
 
     public AuthResponse authenticate(AuthRequest request) {
         // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                request.getUsername(),
-                request.getPassword()
-            )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(
+                    request.getUsername(),
+                    request.getPassword()
+                )
+            );
+        } catch (AuthenticationException e) {
+            meterRegistry.counter("auth.attempts", "outcome", "failure").increment();
+            auditLog.loginFailed(request.getUsername());
+            throw e;
+        }
+        meterRegistry.counter("auth.attempts", "outcome", "success").increment();
+        auditLog.loginSucceeded(authentication.getName());
 
         // Set authentication in context
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         // Generate JWT token
         String jwt = tokenProvider.generateToken(authentication);
+        auditLog.tokenIssued(authentication.getName());
 
         return new AuthResponse(jwt);
     }
+
+    /**
+     * Revoke a token so it is rejected until it expires
+     */
+    public void revoke(String token) {
+        Claims claims = tokenProvider.getValidatedClaims(token);
+        if (claims == null || claims.getId() == null) {
+            throw new BadCredentialsException("Invalid token");
+        }
+        revocationStore.revoke(claims.getId(), claims.getExpiration().getTime());
+        auditLog.tokenRevoked(claims.getSubject());
+    }
 }
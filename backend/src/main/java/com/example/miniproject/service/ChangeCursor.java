@@ -0,0 +1,52 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Opaque position in the (updatedAt, id) order of the change feed.
+ * Encoded as URL-safe base64 of "epochMicros:id".
+ */
+public final class ChangeCursor {
+
+    public static final ChangeCursor START = new ChangeCursor(Instant.EPOCH, 0L);
+
+    private final Instant updatedAt;
+    private final long id;
+
+    public ChangeCursor(Instant updatedAt, long id) {
+        // Stored timestamps have microsecond precision
+        this.updatedAt = updatedAt.truncatedTo(ChronoUnit.MICROS);
+        this.id = id;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((micros + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static ChangeCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            long micros = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new ChangeCursor(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), id);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid change cursor");
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.config.WarmUpProperties;
+import com.example.miniproject.dto.UserResponse;
+import com.example.miniproject.mapper.UserJsonCodec;
+import com.example.miniproject.model.User;
+import com.example.miniproject.monitoring.StartupReport;
+import com.example.miniproject.repository.UserRepository;
+import com.example.miniproject.security.JwtTokenProvider;
+import com.example.miniproject.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional JIT warm-up before the node reports ready. Spring Boot switches
+ * readiness to ACCEPTING_TRAFFIC only after every ApplicationReadyEvent
+ * listener has returned, so running here keeps /actuator/health/readiness
+ * DOWN until the hot paths (Faker, Jackson, JWT, login and profile queries,
+ * BCrypt) have been exercised with synthetic users, and loopback requests
+ * have gone through Tomcat, the security filters and the DispatcherServlet. Database work runs in
+ * transactions that are always rolled back, so nothing is left behind.
+ * Logs the latency of each path on its first and last iterations.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JitWarmUp {
+
+    private static final String WARMUP_PASSWORD = "warmup1";
+    private static final String WARMUP_PREFIX = "warmup-";
+    private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(2);
+
+    private final WarmUpProperties properties;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final UserDetailsService userDetailsService;
+    private final JwtTokenProvider tokenProvider;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final UserJsonCodec userJsonCodec;
+    private final PlatformTransactionManager transactionManager;
+    private final Environment environment;
+
+    // Last before StartupReport, so the logged time to ready includes the warm-up
+    @Order(StartupReport.ORDER - 1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(properties.getMaxDuration());
+        String passwordHash = passwordEncoder.encode(WARMUP_PASSWORD);
+        TransactionTemplate rollbackOnly = new TransactionTemplate(transactionManager);
+        // Only set once an embedded server is listening
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        HttpClient httpClient = port == null ? null : HttpClient.newBuilder().connectTimeout(HTTP_TIMEOUT).build();
+        URI baseUri = port == null ? null : URI.create("http://localhost:" + port
+                + environment.getProperty("server.servlet.context-path", "") + "/");
+
+        Map<String, LatencySamples> samples = new LinkedHashMap<>();
+        for (String path : List.of("http", "generate", "json", "jwt", "login-query", "profile-query", "bcrypt")) {
+            samples.put(path, new LatencySamples(properties.getMaxIterations()));
+        }
+
+        int iteration = 0;
+        try {
+            while (iteration < properties.getMaxIterations() && System.nanoTime() - deadline < 0) {
+                if (httpClient != null) {
+                    time(samples.get("http"), () -> loopback(httpClient, baseUri));
+                }
+                User user = time(samples.get("generate"), userService::generateRandomUser);
+                user.setUsername(WARMUP_PREFIX + iteration);
+                user.setEmail(WARMUP_PREFIX + iteration + "@warmup.invalid");
+                user.setPassword(passwordHash);
+
+                time(samples.get("json"), () -> roundTrip(user));
+                time(samples.get("jwt"), () -> issueAndVerify(user));
+                rollbackOnly.executeWithoutResult(status -> {
+                    userRepository.saveAndFlush(user);
+                    time(samples.get("login-query"), () -> userDetailsService.loadUserByUsername(user.getEmail()));
+                    time(samples.get("profile-query"), () -> {
+                        userRepository.findVersionByUsername(user.getUsername());
+                        return userRepository.findProfileByUsername(user.getUsername());
+                    });
+                    status.setRollbackOnly();
+                });
+                if (iteration % properties.getBcryptPeriod() == 0) {
+                    time(samples.get("bcrypt"), () -> passwordEncoder.matches(WARMUP_PASSWORD, passwordHash));
+                }
+                iteration++;
+            }
+        } catch (Exception e) {
+            // A failed warm-up only costs latency; never keep the node from becoming ready
+            log.warn("JIT warm-up stopped after {} iterations: {}", iteration, e.getMessage());
+        }
+
+        log.info("JIT warm-up ran {} iterations in {} ms", iteration,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        samples.forEach((path, latencies) -> {
+            if (latencies.size() > 0) {
+                log.info("Warm-up {}: first {} us, last {} calls avg {} us", path, latencies.firstMicros(),
+                        latencies.tailSize(), latencies.tailAverageMicros());
+            }
+        });
+    }
+
+    /**
+     * A liveness probe, and a login with an empty body that fails validation
+     * before any credential check, so nothing is audited
+     */
+    private static Object loopback(HttpClient httpClient, URI baseUri) throws Exception {
+        httpClient.send(HttpRequest.newBuilder(baseUri.resolve("actuator/health/liveness"))
+                .timeout(HTTP_TIMEOUT)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.discarding());
+        return httpClient.send(HttpRequest.newBuilder(baseUri.resolve("api/auth"))
+                .timeout(HTTP_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private Object roundTrip(User user) throws Exception {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        userJsonCodec.writeUsers(json, List.of(user));
+        userJsonCodec.readUsers(new ByteArrayInputStream(json.toByteArray()));
+        UserResponse response = UserResponse.builder()
+                .username(user.getUsername())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .birthDate(user.getBirthDate())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .build();
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    private Object issueAndVerify(User user) {
+        UserPrincipal principal = UserPrincipal.create(user);
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        return tokenProvider.getValidatedClaims(tokenProvider.generateToken(authentication));
+    }
+
+    private static <T> T time(LatencySamples samples, WarmUpStep<T> step) {
+        long start = System.nanoTime();
+        try {
+            return step.run();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            samples.record(System.nanoTime() - start);
+        }
+    }
+
+    @FunctionalInterface
+    private interface WarmUpStep<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Per-path latencies; "before" is the first call, "after" the average of the last tenth
+     */
+    static final class LatencySamples {
+
+        private final long[] nanos;
+        private int size;
+
+        LatencySamples(int capacity) {
+            this.nanos = new long[capacity];
+        }
+
+        void record(long elapsedNanos) {
+            if (size < nanos.length) {
+                nanos[size++] = elapsedNanos;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        long firstMicros() {
+            return TimeUnit.NANOSECONDS.toMicros(nanos[0]);
+        }
+
+        int tailSize() {
+            return Math.max(1, size / 10);
+        }
+
+        long tailAverageMicros() {
+            int tail = tailSize();
+            long sum = 0;
+            for (int i = size - tail; i < size; i++) {
+                sum += nanos[i];
+            }
+            return TimeUnit.NANOSECONDS.toMicros(sum / tail);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.model.User;
+import com.example.miniproject.repository.UserNameView;
+import com.example.miniproject.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory prefix index over first and last names. Each name is stored as
+ * a sorted key "name\0id", so a prefix lookup is a range scan of the sorted
+ * set: O(log n + matches) with no database access. Built at startup and
+ * kept current by the write paths.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NamePrefixIndex {
+
+    private static final char SEPARATOR = '\0';
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private volatile NavigableSet<String> keys = new ConcurrentSkipListSet<>();
+    // Users added while a rebuild scans the table; null when no rebuild is running. Guarded by this
+    private List<User> pendingAdds;
+
+    /**
+     * Rescan the table. Users added meanwhile are replayed onto the new set
+     * before it replaces the current one, so none of them is lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            pendingAdds = new ArrayList<>();
+        }
+        NavigableSet<String> rebuilt = new ConcurrentSkipListSet<>();
+        try {
+            long afterId = 0;
+            List<UserNameView> page;
+            do {
+                page = userRepository.findNamesAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (UserNameView row : page) {
+                    addKeys(rebuilt, row.getId(), row.getFirstName(), row.getLastName());
+                    afterId = row.getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingAdds = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pendingAdds.forEach(user -> addKeys(rebuilt, user));
+            pendingAdds = null;
+            keys = rebuilt;
+        }
+        log.info("Name prefix index built with {} entries", rebuilt.size());
+    }
+
+    public synchronized void addAll(Collection<User> users) {
+        if (pendingAdds != null) {
+            pendingAdds.addAll(users);
+        }
+        users.forEach(user -> addKeys(keys, user));
+    }
+
+    /**
+     * Ids of all users whose first or last name starts with the prefix, ignoring case.
+     * The set is only useful if complete, so a prefix matching more users returns null.
+     * @param limit maximum number of matching users
+     * @return the matching ids, or null when more than limit users match
+     */
+    public Set<Long> findIds(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        Set<Long> ids = new TreeSet<>();
+        for (String key : keys.subSet(normalized, true, normalized + Character.MAX_VALUE, false)) {
+            ids.add(Long.parseLong(key.substring(key.lastIndexOf(SEPARATOR) + 1)));
+            if (ids.size() > limit) {
+                return null;
+            }
+        }
+        return ids;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private static void addKeys(Set<String> target, User user) {
+        if (user.getId() != null) {
+            addKeys(target, user.getId(), user.getFirstName(), user.getLastName());
+        }
+    }
+
+    private static void addKeys(Set<String> target, long id, String firstName, String lastName) {
+        if (firstName != null) {
+            target.add(key(firstName, id));
+        }
+        if (lastName != null) {
+            target.add(key(lastName, id));
+        }
+    }
+
+    private static String key(String name, long id) {
+        return normalize(name) + SEPARATOR + id;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.dto.UserResponse;
+import com.example.miniproject.exception.BadRequestException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sparse fieldset selection for profile responses. Field names are the
+ * UserResponse properties, which are also the User attribute names, so a
+ * selection can be pushed straight into the query projection.
+ */
+public final class ProfileFields {
+
+    // UserResponse properties in declaration order, which is also the response order
+    static final List<String> ALL = Arrays.stream(UserResponse.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .toList();
+
+    private ProfileFields() {
+    }
+
+    /**
+     * Parse a comma-separated fields parameter
+     * @return the selected fields in response order, or null when no selection was given
+     * @throws BadRequestException for names that are not UserResponse properties
+     */
+    public static List<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!ALL.contains(trimmed)) {
+                throw new BadRequestException("Unknown field '" + trimmed + "', expected any of " + ALL);
+            }
+            selected.add(trimmed);
+        }
+        if (selected.isEmpty()) {
+            return null;
+        }
+        return ALL.stream().filter(selected::contains).toList();
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.config.SeedProperties;
+import com.example.miniproject.dto.SeedJobResponse;
+import com.example.miniproject.dto.UserChangeEvent;
+import com.example.miniproject.exception.BadRequestException;
+import com.example.miniproject.exception.ResourceNotFoundException;
+import com.example.miniproject.model.User;
+import com.example.miniproject.repository.UserBulkRepository;
+import com.github.javafaker.Faker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeds large numbers of generated users directly into the database, without
+ * the JSON round-trip through /generate and /batch. Jobs run in the
+ * background and report progress by id until they have been finished for
+ * the configured retention.
+ */
+@Slf4j
+@Service
+public class SeedService {
+
+    private final UserService userService;
+    private final UserBulkRepository userBulkRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final SeedProperties seedProperties;
+    private final Environment environment;
+    private final ExecutorService seedExecutor;
+    private final ExecutorService seedHashExecutor;
+    private final NamePrefixIndex namePrefixIndex;
+    private final UserChangeBus userChangeBus;
+    private final UserStatistics userStatistics;
+    private final Map<String, SeedJob> jobs = new ConcurrentHashMap<>();
+
+    public SeedService(UserService userService,
+                       UserBulkRepository userBulkRepository,
+                       PasswordEncoder passwordEncoder,
+                       SeedProperties seedProperties,
+                       Environment environment,
+                       @Qualifier("seedExecutor") ExecutorService seedExecutor,
+                       @Qualifier("seedHashExecutor") ExecutorService seedHashExecutor,
+                       NamePrefixIndex namePrefixIndex,
+                       UserChangeBus userChangeBus,
+                       UserStatistics userStatistics) {
+        this.userService = userService;
+        this.userBulkRepository = userBulkRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.seedProperties = seedProperties;
+        this.environment = environment;
+        this.seedExecutor = seedExecutor;
+        this.seedHashExecutor = seedHashExecutor;
+        this.namePrefixIndex = namePrefixIndex;
+        this.userChangeBus = userChangeBus;
+        this.userStatistics = userStatistics;
+    }
+
+    /**
+     * Queue a seeding job
+     * @param count number of users to insert
+     * @param seed random seed; the same seed produces the same users
+     * @param fastHashing use a low-cost BCrypt strength (dev profile only)
+     */
+    public SeedJobResponse startSeeding(long count, long seed, boolean fastHashing) {
+        if (count < 1 || count > seedProperties.getMaxCount()) {
+            throw new BadRequestException("Count must be between 1 and " + seedProperties.getMaxCount());
+        }
+        if (fastHashing && !environment.acceptsProfiles(Profiles.of("dev"))) {
+            throw new BadRequestException("Fast password hashing is only available with the dev profile");
+        }
+        PasswordEncoder encoder = fastHashing
+                ? new BCryptPasswordEncoder(seedProperties.getDevPasswordStrength())
+                : passwordEncoder;
+
+        evictFinishedJobs();
+        SeedJob job = new SeedJob(UUID.randomUUID().toString(), count);
+        jobs.put(job.id, job);
+        seedExecutor.execute(() -> run(job, seed, encoder));
+        return job.toResponse();
+    }
+
+    public SeedJobResponse getJob(String id) {
+        evictFinishedJobs();
+        SeedJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Seed job not found: " + id);
+        }
+        return job.toResponse();
+    }
+
+    private void run(SeedJob job, long seed, PasswordEncoder encoder) {
+        job.state = "RUNNING";
+        job.startedAt = Instant.now();
+        Faker faker = new Faker(new Locale("en"), new Random(seed));
+        int batchSize = seedProperties.getBatchSize();
+        long nextLogAt = Math.max(job.requested / 10, batchSize);
+        try {
+            for (long offset = 0; offset < job.requested; offset += batchSize) {
+                int size = (int) Math.min(batchSize, job.requested - offset);
+                List<User> users = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    users.add(uniqueUser(userService.generateRandomUser(faker), seed, offset + i));
+                }
+                hashPasswords(users, encoder);
+                // One transaction per chunk, so a failure leaves exactly the counted rows behind
+                int inserted = userBulkRepository.insertAll(users, batchSize);
+                job.inserted.addAndGet(inserted);
+                userStatistics.addAll(users);
+                userChangeBus.publish(UserChangeEvent.builder()
+                        .type(UserChangeEvent.Type.SEEDED)
+                        .occurredAt(Instant.now())
+                        .count((long) inserted)
+                        .build());
+
+                if (job.inserted.get() >= nextLogAt) {
+                    log.info("Seed job {}: {}/{} users inserted", job.id, job.inserted.get(), job.requested);
+                    nextLogAt += Math.max(job.requested / 10, batchSize);
+                }
+            }
+            job.state = "COMPLETED";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.error = "Interrupted";
+            job.state = "FAILED";
+        } catch (Exception e) {
+            log.error("Seed job {} failed after {} users: {}", job.id, job.inserted.get(), e.getMessage());
+            job.error = e.getMessage();
+            job.state = "FAILED";
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+        if (job.inserted.get() > 0) {
+            // Batch inserts do not return generated ids, so rebuild the name index from the table
+            namePrefixIndex.rebuild();
+        }
+    }
+
+    /**
+     * BCrypt dominates the cost, so hash the chunk in slices on the hashing pool
+     */
+    private void hashPasswords(List<User> users, PasswordEncoder encoder)
+            throws InterruptedException, ExecutionException {
+        int sliceSize = Math.max(1, (users.size() + seedProperties.getHashThreads() - 1)
+                / seedProperties.getHashThreads());
+        List<Callable<Void>> slices = new ArrayList<>();
+        for (int from = 0; from < users.size(); from += sliceSize) {
+            List<User> slice = users.subList(from, Math.min(from + sliceSize, users.size()));
+            slices.add(() -> {
+                for (User user : slice) {
+                    user.setPassword(encoder.encode(user.getPassword()));
+                }
+                return null;
+            });
+        }
+        for (Future<Void> hashed : seedHashExecutor.invokeAll(slices)) {
+            hashed.get();
+        }
+    }
+
+    /**
+     * Drop finished jobs past their retention, and the oldest ones beyond the configured number
+     */
+    private void evictFinishedJobs() {
+        Instant expiredBefore = Instant.now().minus(seedProperties.getFinishedJobRetention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiredBefore));
+        List<SeedJob> finished = new ArrayList<>();
+        for (SeedJob job : jobs.values()) {
+            if (job.finishedAt != null) {
+                finished.add(job);
+            }
+        }
+        if (finished.size() > seedProperties.getMaxFinishedJobs()) {
+            finished.sort(Comparator.comparing(job -> job.finishedAt));
+            for (SeedJob job : finished.subList(0, finished.size() - seedProperties.getMaxFinishedJobs())) {
+                jobs.remove(job.id);
+            }
+        }
+    }
+
+    /**
+     * Faker repeats usernames and emails at scale, so suffix them with the seed and sequence number
+     */
+    private static User uniqueUser(User user, long seed, long index) {
+        String suffix = "-" + seed + "-" + index;
+        user.setUsername(user.getUsername() + suffix);
+        int at = user.getEmail().indexOf('@');
+        user.setEmail(user.getEmail().substring(0, at) + suffix + user.getEmail().substring(at));
+        return user;
+    }
+
+    private static final class SeedJob {
+        private final String id;
+        private final long requested;
+        private final AtomicLong inserted = new AtomicLong();
+        private volatile String state = "QUEUED";
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private SeedJob(String id, long requested) {
+            this.id = id;
+            this.requested = requested;
+        }
+
+        private SeedJobResponse toResponse() {
+            double usersPerSecond = 0;
+            if (startedAt != null) {
+                Instant end = finishedAt != null ? finishedAt : Instant.now();
+                long millis = Math.max(Duration.between(startedAt, end).toMillis(), 1);
+                usersPerSecond = inserted.get() * 1000.0 / millis;
+            }
+            return SeedJobResponse.builder()
+                    .id(id)
+                    .state(state)
+                    .requested(requested)
+                    .inserted(inserted.get())
+                    .usersPerSecond(usersPerSecond)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.config.ChangeFeedProperties;
+import com.example.miniproject.config.ChangeFeedProperties.OverflowPolicy;
+import com.example.miniproject.dto.UserChangeEvent;
+import com.example.miniproject.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process publish/subscribe bus for user changes.
+ * Publishing only appends to each subscriber's bounded buffer; buffers are
+ * drained on the change feed executor, so a slow connection never blocks a
+ * write path or other subscribers. When a buffer is full the configured
+ * overflow policy drops the oldest event or disconnects the subscriber.
+ */
+@Slf4j
+@Component
+public class UserChangeBus {
+
+    // Events written per drain run before yielding the thread to other subscribers
+    private static final int DRAIN_BATCH = 64;
+
+    private final ChangeFeedProperties properties;
+    private final ExecutorService executor;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+    private final Counter disconnectedCounter;
+
+    public UserChangeBus(ChangeFeedProperties properties,
+                         @Qualifier("changeFeedExecutor") ExecutorService executor,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executor = executor;
+        this.publishedCounter = meterRegistry.counter("change_feed.events", "result", "published");
+        this.droppedCounter = meterRegistry.counter("change_feed.events", "result", "dropped");
+        this.disconnectedCounter = meterRegistry.counter("change_feed.slow_consumers.disconnected");
+        meterRegistry.gaugeCollectionSize("change_feed.subscribers", Tags.empty(), subscriptions);
+    }
+
+    /**
+     * Receives events on a change feed thread, one at a time and in publish order
+     */
+    public interface Subscriber {
+        void onEvent(UserChangeEvent event) throws Exception;
+
+        void onHeartbeat() throws Exception;
+
+        /**
+         * Called once when the subscription ends for any reason other than {@link Subscription#cancel()}
+         */
+        void onClose(String reason);
+    }
+
+    /**
+     * Register a subscriber
+     * @throws ServiceUnavailableException when the subscriber limit is reached
+     */
+    public Subscription subscribe(Subscriber subscriber) {
+        if (subscriptions.size() >= properties.getMaxSubscribers()) {
+            throw new ServiceUnavailableException("Too many change feed subscribers");
+        }
+        Subscription subscription = new Subscription(subscriber, properties.getBufferSize());
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Publish events; inside a transaction they are delivered only once it commits
+     */
+    public void publish(List<UserChangeEvent> events) {
+        if (events.isEmpty() || subscriptions.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(events);
+                }
+            });
+        } else {
+            dispatch(events);
+        }
+    }
+
+    public void publish(UserChangeEvent event) {
+        publish(List.of(event));
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void dispatch(List<UserChangeEvent> events) {
+        for (Subscription subscription : subscriptions) {
+            for (UserChangeEvent event : events) {
+                if (!subscription.offer(event)) {
+                    break;
+                }
+            }
+            subscription.scheduleDrain();
+        }
+        publishedCounter.increment(events.size());
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect clients that went away
+     */
+    @Scheduled(fixedDelayString = "${change-feed.heartbeat-interval:15000}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            subscription.heartbeatPending = true;
+            subscription.scheduleDrain();
+        }
+    }
+
+    public final class Subscription {
+        private final Subscriber subscriber;
+        private final int capacity;
+        private final ArrayDeque<UserChangeEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean heartbeatPending;
+
+        private Subscription(Subscriber subscriber, int capacity) {
+            this.subscriber = subscriber;
+            this.capacity = capacity;
+            this.buffer = new ArrayDeque<>(Math.min(capacity, 64));
+        }
+
+        /**
+         * Stop delivery, e.g. after the client disconnected
+         */
+        public void cancel() {
+            closed.set(true);
+            subscriptions.remove(this);
+        }
+
+        /**
+         * @return false when the subscription is closed and further events should be skipped
+         */
+        private boolean offer(UserChangeEvent event) {
+            if (closed.get()) {
+                return false;
+            }
+            boolean overflow = false;
+            synchronized (buffer) {
+                if (buffer.size() >= capacity) {
+                    if (properties.getOverflowPolicy() == OverflowPolicy.DISCONNECT) {
+                        buffer.clear();
+                        overflow = true;
+                    } else {
+                        buffer.pollFirst();
+                        droppedCounter.increment();
+                    }
+                }
+                if (!overflow) {
+                    buffer.addLast(event);
+                }
+            }
+            if (overflow) {
+                disconnectedCounter.increment();
+                close("slow consumer");
+                return false;
+            }
+            return true;
+        }
+
+        private void scheduleDrain() {
+            if (closed.get() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (heartbeatPending) {
+                    heartbeatPending = false;
+                    subscriber.onHeartbeat();
+                }
+                for (int i = 0; i < DRAIN_BATCH && !closed.get(); i++) {
+                    UserChangeEvent event;
+                    synchronized (buffer) {
+                        event = buffer.pollFirst();
+                    }
+                    if (event == null) {
+                        break;
+                    }
+                    subscriber.onEvent(event);
+                }
+            } catch (Exception e) {
+                log.debug("Change feed delivery failed: {}", e.getMessage());
+                close("delivery failed");
+            } finally {
+                draining.set(false);
+            }
+            boolean more;
+            synchronized (buffer) {
+                more = !buffer.isEmpty();
+            }
+            if (more || heartbeatPending) {
+                scheduleDrain();
+            }
+        }
+
+        private void close(String reason) {
+            if (closed.compareAndSet(false, true)) {
+                subscriptions.remove(this);
+                subscriber.onClose(reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.miniproject.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Streams the users table to an output stream without materializing it.
+ * Rows are read with plain JDBC in keyset-ordered chunks and written straight
+ * to a Jackson generator or CSV writer, so heap use does not depend on the
+ * table size. Password hashes are never exported. Delta exports walk the
+ * (updated_at, id) index from a {@link ChangeCursor}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExportService {
+
+    static final String[] COLUMNS = {
+        "id", "username", "email", "firstName", "lastName", "birthDate", "city",
+        "country", "avatar", "company", "jobPosition", "mobile", "role", "createdAt", "updatedAt"
+    };
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final String SELECT_COLUMNS = "SELECT id, username, email, first_name, last_name, birth_date, city, "
+            + "country, avatar, company, job_position, mobile, role, created_at, updated_at FROM users ";
+    private static final String CHUNK_SQL = SELECT_COLUMNS + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String CHANGES_CHUNK_SQL = SELECT_COLUMNS
+            + "WHERE (updated_at > ? OR (updated_at = ? AND id > ?)) AND updated_at <= ? "
+            + "ORDER BY updated_at, id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write every user to the stream
+     * @return number of rows written
+     */
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        long[] lastId = {0L};
+        long rows = stream(format, out, (sink, count) -> jdbcTemplate.query(CHUNK_SQL, rs -> {
+            write(sink, rs);
+            lastId[0] = rs.getLong(1);
+            count[0]++;
+        }, lastId[0], CHUNK_SIZE));
+        log.info("Exported {} users as {}", rows, format);
+        return rows;
+    }
+
+    /**
+     * Write users changed after {@code since} and up to {@code until}, in (updatedAt, id) order
+     * @return number of rows written
+     */
+    public long exportChanges(ExportFormat format, OutputStream out, ChangeCursor since, Instant until)
+            throws IOException {
+        OffsetDateTime upperBound = OffsetDateTime.ofInstant(until, ZoneOffset.UTC);
+        OffsetDateTime[] lastUpdatedAt = {OffsetDateTime.ofInstant(since.getUpdatedAt(), ZoneOffset.UTC)};
+        long[] lastId = {since.getId()};
+        long rows = stream(format, out, (sink, count) -> jdbcTemplate.query(CHANGES_CHUNK_SQL, rs -> {
+            write(sink, rs);
+            lastUpdatedAt[0] = rs.getObject(15, OffsetDateTime.class);
+            lastId[0] = rs.getLong(1);
+            count[0]++;
+        }, lastUpdatedAt[0], lastUpdatedAt[0], lastId[0], upperBound, CHUNK_SIZE));
+        log.info("Exported {} changed users as {}", rows, format);
+        return rows;
+    }
+
+    private long stream(ExportFormat format, OutputStream out, ChunkQuery chunkQuery) throws IOException {
+        RowSink sink = switch (format) {
+            case JSON -> new JsonSink(out, false);
+            case NDJSON -> new JsonSink(out, true);
+            case CSV -> new CsvSink(out);
+        };
+        long rows = 0;
+        try {
+            sink.begin();
+            int[] count = new int[1];
+            do {
+                count[0] = 0;
+                chunkQuery.query(sink, count);
+                rows += count[0];
+            } while (count[0] == CHUNK_SIZE);
+            sink.end();
+        } catch (UncheckedIOException e) {
+            // Usually the client disconnected mid-download
+            throw e.getCause();
+        }
+        return rows;
+    }
+
+    private static void write(RowSink sink, ResultSet rs) throws SQLException {
+        try {
+            sink.row(rs);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface ChunkQuery {
+        /**
+         * Run the next chunk query, writing each row to the sink and counting it
+         */
+        void query(RowSink sink, int[] count);
+    }
+
+    /**
+     * Column value as text, with dates and timestamps in ISO-8601
+     */
+    private static String text(ResultSet rs, int column) throws SQLException {
+        if (column == 6) {
+            Date birthDate = rs.getDate(column);
+            return birthDate == null ? null : birthDate.toLocalDate().toString();
+        }
+        if (column >= 14) {
+            OffsetDateTime timestamp = rs.getObject(column, OffsetDateTime.class);
+            return timestamp == null ? null : timestamp.toInstant().toString();
+        }
+        return rs.getString(column);
+    }
+
+    private interface RowSink {
+        void begin() throws IOException;
+
+        void row(ResultSet rs) throws IOException, SQLException;
+
+        void end() throws IOException;
+    }
+
+    private final class JsonSink implements RowSink {
+        private final JsonGenerator generator;
+        private final boolean lineDelimited;
+
+        private JsonSink(OutputStream out, boolean lineDelimited) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.lineDelimited = lineDelimited;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            if (!lineDelimited) {
+                generator.writeStartArray();
+            }
+        }
+
+        @Override
+        public void row(ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], rs.getLong(1));
+            for (int i = 1; i < COLUMNS.length; i++) {
+                generator.writeStringField(COLUMNS[i], text(rs, i + 1));
+            }
+            generator.writeEndObject();
+            if (lineDelimited) {
+                generator.writeRaw('\n');
+            }
+        }
+
+        @Override
+        public void end() throws IOException {
+            if (!lineDelimited) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        }
+    }
+
+    private static final class CsvSink implements RowSink {
+        private final BufferedWriter writer;
+
+        private CsvSink(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs) throws IOException, SQLException {
+            for (int i = 1; i <= COLUMNS.length; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                writeField(text(rs, i));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void end() throws IOException {
+            writer.flush();
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
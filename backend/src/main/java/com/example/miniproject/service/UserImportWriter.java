@@ -0,0 +1,27 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.model.User;
+import com.example.miniproject.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Insert transaction of a batch import. Validation and BCrypt hashing happen
+ * before it starts, so the transaction only covers the writes and can be held
+ * to a timeout shorter than the change export's commit lag: rows are stamped
+ * on insert, and one committing after the lag would be skipped by /changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserImportWriter {
+
+    private final UserRepository userRepository;
+
+    @Transactional(rollbackFor = Exception.class, timeoutString = "${change-export.import-transaction-timeout:30}")
+    public List<User> insert(List<User> users) {
+        return userRepository.saveAll(users);
+    }
+}
@@ -1,42 +1,74 @@
 package com.example.miniproject.service;
 
+import com.example.miniproject.audit.AuditLog;
 import com.example.miniproject.dto.BatchImportResponse;
+import com.example.miniproject.dto.UserChangeEvent;
+import com.example.miniproject.dto.UserPageResponse;
+import com.example.miniproject.dto.UserSummary;
+import com.example.miniproject.dto.UserLookupResponse;
 import com.example.miniproject.dto.UserResponse;
+import com.example.miniproject.dto.UserSearchCriteria;
+import com.example.miniproject.dto.UserStatsResponse;
+import com.example.miniproject.exception.BadRequestException;
 import com.example.miniproject.exception.ResourceNotFoundException;
-import com.example.miniproject.mapper.UserMapper;
 import com.example.miniproject.model.Role;
+import com.example.miniproject.monitoring.RequestTimings;
 import com.example.miniproject.model.User;
 import com.example.miniproject.repository.UserRepository;
+import com.example.miniproject.repository.UserVersionView;
 import com.github.javafaker.Faker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    // Most users a name prefix may match for the search to use the index as an IN list;
+    // broader prefixes are matched in SQL, where dense matches end an id-ordered scan early
+    static final int NAME_PREFIX_CANDIDATES = 1_000;
+    // Usernames per IN (...) query in lookups
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final UserMapper userMapper;
+    private final MeterRegistry meterRegistry;
+    private final NamePrefixIndex namePrefixIndex;
+    private final UserChangeBus userChangeBus;
+    private final UserStatistics userStatistics;
+    private final AuditLog auditLog;
+    private final UserImportWriter userImportWriter;
     private final Faker faker = new Faker(new Locale("en"));
 
     /**
      * Generate a specified number of random users
      */
     public List<User> generateUsers(int count) {
+        long start = System.nanoTime();
         List<User> users = new ArrayList<>();
         for (int i = 0; i < count; i++) {
             users.add(generateRandomUser());
         }
+        meterRegistry.timer("users.generate").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("users.generated").increment(count);
         return users;
     }
 
@@ -49,27 +81,35 @@ public class UserService {
         }
     }
 
-    @Transactional(rollbackFor = Exception.class)
+    /**
+     * Validates and hashes outside any transaction; only the insert runs in one
+     * (see {@link UserImportWriter}), and the in-memory views are updated once it commits
+     */
     public BatchImportResponse importUsers(List<User> users) {
         int totalRecords = users.size();
         List<User> successfulUsers = new ArrayList<>();
         List<String> failedUsernames = new ArrayList<>();
 
+        long duplicateCheckNanos = 0;
+        long hashNanos = 0;
+
         // First pass: validate all users
         for (User user : users) {
             try {
-                if (userRepository.existsByEmail(user.getEmail())) {
-                    failedUsernames.add(user.getUsername());
-                    continue;
-                }
-                if (userRepository.existsByUsername(user.getUsername())) {
+                long start = System.nanoTime();
+                boolean duplicate = userRepository.existsByEmail(user.getEmail())
+                        || userRepository.existsByUsername(user.getUsername());
+                duplicateCheckNanos += System.nanoTime() - start;
+                if (duplicate) {
                     failedUsernames.add(user.getUsername());
                     continue;
                 }
                 // Validate password before encoding
                 validatePassword(user.getPassword(), user.getUsername());
                 // Encode password
+                start = System.nanoTime();
                 user.setPassword(passwordEncoder.encode(user.getPassword()));
+                hashNanos += System.nanoTime() - start;
                 successfulUsers.add(user);
             } catch (Exception e) {
                 failedUsernames.add(user.getUsername());
@@ -78,9 +118,25 @@ public class UserService {
         }
 
         // Second pass: save all valid users in a single transaction
+        long saveStart = System.nanoTime();
         if (!successfulUsers.isEmpty()) {
-            userRepository.saveAll(successfulUsers);
+            try {
+                userImportWriter.insert(successfulUsers);
+            } catch (RuntimeException e) {
+                // Rolled back: nothing from this batch was imported
+                auditLog.batchImported(0, totalRecords);
+                throw e;
+            }
+            namePrefixIndex.addAll(successfulUsers);
+            userStatistics.addAll(successfulUsers);
+            publishCreated(successfulUsers);
         }
+        importStageTimer("duplicate-check").record(duplicateCheckNanos, TimeUnit.NANOSECONDS);
+        importStageTimer("hash").record(hashNanos, TimeUnit.NANOSECONDS);
+        importStageTimer("save").record(System.nanoTime() - saveStart, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("users.import.records", "result", "success").increment(successfulUsers.size());
+        meterRegistry.counter("users.import.records", "result", "failure").increment(failedUsernames.size());
+        auditLog.batchImported(successfulUsers.size(), failedUsernames.size());
 
         return BatchImportResponse.builder()
                 .totalRecords(totalRecords)
@@ -89,13 +145,129 @@ public class UserService {
                 .build();
     }
 
+    private void publishCreated(List<User> users) {
+        if (userChangeBus.subscriberCount() == 0) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<UserChangeEvent> events = new ArrayList<>(users.size());
+        for (User user : users) {
+            events.add(UserChangeEvent.builder()
+                    .type(UserChangeEvent.Type.CREATED)
+                    .occurredAt(now)
+                    .user(new UserSummary(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                            user.getLastName(), user.getCountry(), user.getRole()))
+                    .build());
+        }
+        userChangeBus.publish(events);
+    }
+
+    private Timer importStageTimer(String stage) {
+        return Timer.builder("users.import.stage")
+                .description("Time spent in each stage of a batch import")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * User counts per country, role, company and age bucket, served from memory
+     */
+    public UserStatsResponse getStatistics() {
+        return userStatistics.snapshot();
+    }
+
+    /**
+     * Strong ETag of a user's profile, from an id/version lookup that does not load the profile.
+     * A field selection is part of the tag since each selection is its own representation.
+     */
+    public String getProfileETag(String username, List<String> fields) {
+        long phaseStart = RequestTimings.start();
+        UserVersionView version = userRepository.findVersionByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+        RequestTimings.stop("etag-query", phaseStart);
+        String selection = fields == null ? "" : "-" + String.join(".", fields);
+        return "\"" + version.getId() + "-" + version.getVersion() + selection + "\"";
+    }
+
     /**
      * Get user by username
      */
     public UserResponse getUserByUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        long phaseStart = RequestTimings.start();
+        UserResponse response = userRepository.findProfileByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
-        return userMapper.toUserResponse(user);
+        RequestTimings.stop("profile-query", phaseStart);
+        return response;
+    }
+
+    /**
+     * Get only the selected profile fields, reading just those columns
+     * @param fields validated UserResponse property names, see {@link ProfileFields}
+     */
+    public Map<String, Object> getProfileFields(String username, List<String> fields) {
+        long phaseStart = RequestTimings.start();
+        Map<String, Object> profile = userRepository.findProfileFields(username, fields)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+        RequestTimings.stop("profile-query", phaseStart);
+        return profile;
+    }
+
+    /**
+     * Resolve many usernames with chunked IN queries instead of one query per name
+     */
+    @Transactional(readOnly = true)
+    public UserLookupResponse lookupUsers(List<String> usernames) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(usernames));
+        Map<String, UserResponse> found = new HashMap<>(distinct.size() * 2);
+        for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinct.size()));
+            for (UserResponse profile : userRepository.findProfilesByUsernameIn(chunk)) {
+                found.put(profile.getUsername(), profile);
+            }
+        }
+        List<String> notFound = new ArrayList<>();
+        for (String username : distinct) {
+            if (!found.containsKey(username)) {
+                notFound.add(username);
+            }
+        }
+        return UserLookupResponse.builder()
+                .users(found)
+                .notFound(notFound)
+                .build();
+    }
+
+    /**
+     * List users after a cursor using keyset pagination on id
+     */
+    @Transactional(readOnly = true)
+    public UserPageResponse listUsers(Long after, int size) {
+        // Fetch one extra row to learn whether another page exists
+        List<UserSummary> rows = userRepository.findPageAfter(after == null ? 0L : after, PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        List<UserSummary> items = hasMore ? rows.subList(0, size) : rows;
+        return UserPageResponse.builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getId() : null)
+                .build();
+    }
+
+    /**
+     * Search users by equality filters and an optional first/last name prefix
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummary> searchUsers(UserSearchCriteria criteria, int limit) {
+        Set<Long> ids = null;
+        if (criteria.getNamePrefix() != null) {
+            if (criteria.getNamePrefix().trim().length() < 2) {
+                throw new BadRequestException("Name prefix must be at least 2 characters");
+            }
+            ids = namePrefixIndex.findIds(criteria.getNamePrefix(), NAME_PREFIX_CANDIDATES);
+            if (ids != null && ids.isEmpty()) {
+                return List.of();
+            }
+        }
+        return userRepository.search(criteria, ids, limit);
     }
 
     /**
@@ -109,7 +281,14 @@ public class UserService {
     /**
      * Generate a random user using JavaFaker
      */
-    private User generateRandomUser() {
+    User generateRandomUser() {
+        return generateRandomUser(faker);
+    }
+
+    /**
+     * Generate a random user from the given Faker, so seeded instances give reproducible data
+     */
+    User generateRandomUser(Faker faker) {
         String firstName = faker.name().firstName();
         String lastName = faker.name().lastName();
         String email = faker.internet().emailAddress();
@@ -131,15 +310,15 @@ public class UserService {
                 .mobile(faker.phoneNumber().cellPhone())
                 .username(faker.name().username())
                 .email(email)
-                .password(generateRandomPassword())
-                .role(Math.random() < 0.2 ? Role.ADMIN : Role.USER) // 20% chance of being admin
+                .password(generateRandomPassword(faker))
+                .role(faker.random().nextDouble() < 0.2 ? Role.ADMIN : Role.USER) // 20% chance of being admin
                 .build();
     }
 
     /**
      * Generate a random password between 6 and 10 characters
      */
-    private String generateRandomPassword() {
+    private String generateRandomPassword(Faker faker) {
         return faker.regexify("[a-zA-Z0-9]{6,10}");
     }
 }
@@ -0,0 +1,225 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.dto.UserStatsResponse;
+import com.example.miniproject.model.User;
+import com.example.miniproject.repository.UserCountView;
+import com.example.miniproject.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * User counts by country, role, company and age bucket, kept in memory.
+ * Built with one GROUP BY per dimension at startup, then maintained by the
+ * write paths with a LongAdder per bucket, so reads cost O(buckets) and never
+ * touch the database. Ages are bucketed from birth year counts at read time,
+ * so the buckets stay correct as time passes. Companies are reported as the
+ * largest ones plus an "other" bucket, since there can be as many as users.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatistics {
+
+    static final String UNKNOWN = "unknown";
+    static final String OTHER = "other";
+    // Companies listed by name in a snapshot; the rest are summed into OTHER
+    static final int TOP_COMPANIES = 20;
+    private static final int UNKNOWN_YEAR = Integer.MIN_VALUE;
+    // Lower bound in years of each age bucket, and its label
+    private static final int[] AGE_BUCKET_STARTS = {0, 18, 25, 35, 45, 55, 65};
+    private static final String[] AGE_BUCKET_NAMES = {"0-17", "18-24", "25-34", "35-44", "45-54", "55-64", "65+"};
+
+    private final UserRepository userRepository;
+    private volatile Counts counts = new Counts();
+    // Changes committed while a rebuild is querying, replayed onto its result; guarded by this
+    private List<Delta> pendingDeltas;
+
+    /**
+     * Recount from the table. The GROUP BY queries read one snapshot, and
+     * changes committed after it opened are replayed onto the result before
+     * it replaces the current counts, so none of them is lost or counted twice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void rebuild() {
+        synchronized (this) {
+            // The first statement opens the snapshot. Holding the lock keeps commit callbacks from being
+            // applied before buffering starts, so only changes missing from the snapshot are buffered
+            userRepository.count();
+            pendingDeltas = new ArrayList<>();
+        }
+        Counts rebuilt = new Counts();
+        try {
+            load(rebuilt.byCountry, userRepository.countByCountry(), UserStatistics::label);
+            load(rebuilt.byRole, userRepository.countByRole(), UserStatistics::label);
+            load(rebuilt.byCompany, userRepository.countByCompany(), UserStatistics::label);
+            load(rebuilt.byBirthYear, userRepository.countByBirthYear(),
+                    bucket -> bucket == null ? UNKNOWN_YEAR : ((Number) bucket).intValue());
+            rebuilt.byCountry.values().forEach(count -> rebuilt.total.add(count.sum()));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingDeltas = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            for (Delta delta : pendingDeltas) {
+                apply(rebuilt, delta.users(), delta.sign());
+            }
+            pendingDeltas = null;
+            counts = rebuilt;
+        }
+        log.info("User statistics built for {} users", rebuilt.total.sum());
+    }
+
+    /**
+     * Count new users; inside a transaction the counts change only once it commits
+     */
+    public void addAll(Collection<User> users) {
+        afterCommit(() -> update(users, 1));
+    }
+
+    public void removeAll(Collection<User> users) {
+        afterCommit(() -> update(users, -1));
+    }
+
+    public UserStatsResponse snapshot() {
+        Counts current = counts;
+        Map<String, Long> byAgeBucket = new TreeMap<>();
+        int currentYear = LocalDate.now().getYear();
+        current.byBirthYear.forEach((year, count) -> {
+            // Age from the birth year alone, so it can be one year high before the birthday
+            String bucket = year == UNKNOWN_YEAR ? UNKNOWN : ageBucket(currentYear - year);
+            byAgeBucket.merge(bucket, count.sum(), Long::sum);
+        });
+        byAgeBucket.values().removeIf(count -> count <= 0);
+        return UserStatsResponse.builder()
+                .total(current.total.sum())
+                .byCountry(toMap(current.byCountry))
+                .byRole(toMap(current.byRole))
+                .byCompany(topWithOther(current.byCompany, TOP_COMPANIES))
+                .byAgeBucket(byAgeBucket)
+                .build();
+    }
+
+    static String ageBucket(int age) {
+        for (int i = AGE_BUCKET_STARTS.length - 1; i > 0; i--) {
+            if (age >= AGE_BUCKET_STARTS[i]) {
+                return AGE_BUCKET_NAMES[i];
+            }
+        }
+        return AGE_BUCKET_NAMES[0];
+    }
+
+    /**
+     * Writes are per batch, not per user, so taking the lock here is cheap;
+     * it keeps a change from landing in counts a rebuild is about to replace
+     */
+    private synchronized void update(Collection<User> users, int sign) {
+        if (pendingDeltas != null) {
+            pendingDeltas.add(new Delta(List.copyOf(users), sign));
+        }
+        apply(counts, users, sign);
+    }
+
+    private static void apply(Counts current, Collection<User> users, int delta) {
+        for (User user : users) {
+            increment(current.byCountry, label(user.getCountry()), delta);
+            increment(current.byRole, label(user.getRole()), delta);
+            increment(current.byCompany, label(user.getCompany()), delta);
+            increment(current.byBirthYear,
+                    user.getBirthDate() == null ? UNKNOWN_YEAR : user.getBirthDate().getYear(), delta);
+        }
+        current.total.add((long) users.size() * delta);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static <K> void load(ConcurrentMap<K, LongAdder> target, List<UserCountView> rows,
+                                 Function<Object, K> key) {
+        for (UserCountView row : rows) {
+            increment(target, key.apply(row.getBucket()), row.getCount());
+        }
+    }
+
+    private static <K> void increment(ConcurrentMap<K, LongAdder> target, K key, long delta) {
+        target.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    private static Map<String, Long> toMap(ConcurrentMap<String, LongAdder> source) {
+        Map<String, Long> result = new TreeMap<>();
+        source.forEach((key, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                result.put(key, sum);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The largest buckets by count, largest first, with the remainder summed into {@link #OTHER}
+     */
+    private static Map<String, Long> topWithOther(ConcurrentMap<String, LongAdder> source, int limit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(toMap(source).entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        Map<String, Long> result = new LinkedHashMap<>();
+        long other = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (i < limit) {
+                result.put(entries.get(i).getKey(), entries.get(i).getValue());
+            } else {
+                other += entries.get(i).getValue();
+            }
+        }
+        if (other > 0) {
+            result.merge(OTHER, other, Long::sum);
+        }
+        return result;
+    }
+
+    private static String label(Object value) {
+        return value == null ? UNKNOWN : value.toString();
+    }
+
+    private record Delta(List<User> users, int sign) {
+    }
+
+    private static final class Counts {
+        private final LongAdder total = new LongAdder();
+        private final ConcurrentMap<String, LongAdder> byCountry = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LongAdder> byRole = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LongAdder> byCompany = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Integer, LongAdder> byBirthYear = new ConcurrentHashMap<>();
+    }
+}
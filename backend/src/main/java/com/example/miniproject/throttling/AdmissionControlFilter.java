@@ -0,0 +1,156 @@
+package com.example.miniproject.throttling;
+
+import com.example.miniproject.config.AdmissionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Node-wide admission control. Each request first reserves its estimated heap
+ * cost (users to generate, upload size) from a global memory budget, then
+ * takes a slot under an adaptive concurrency limit driven by observed latency.
+ * Only interactive requests feed that latency: a bulk request taking seconds
+ * says nothing about congestion, and mixing the two would shrink the limit
+ * whenever a large generation runs.
+ * Requests that could never fit the budget get 413; requests arriving while
+ * the node is saturated are shed with 503 before they slow everything down.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String GENERATE_PATH = "/api/users/generate";
+    static final String BATCH_PATH = "/api/users/batch";
+    private static final long MB = 1024 * 1024;
+
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final MemoryBudget memoryBudget;
+    private final GradientLimiter limiter;
+    private final Counter rejectedTooLarge;
+    private final Counter rejectedMemory;
+    private final Counter rejectedConcurrency;
+
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.memoryBudget = new MemoryBudget(
+                (long) (Runtime.getRuntime().maxMemory() * properties.getMemoryBudgetFraction()));
+        this.limiter = new GradientLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getSmoothing(), properties.getRttTolerance(),
+                properties.getBaselineWindow());
+        Gauge.builder("admission.limit", limiter, GradientLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("admission.inflight", limiter, GradientLimiter::getInflight).register(meterRegistry);
+        Gauge.builder("admission.memory.reserved", memoryBudget, MemoryBudget::getReserved)
+                .baseUnit("bytes").register(meterRegistry);
+        this.rejectedTooLarge = meterRegistry.counter("admission.rejected", "reason", "too-large");
+        this.rejectedMemory = meterRegistry.counter("admission.rejected", "reason", "memory");
+        this.rejectedConcurrency = meterRegistry.counter("admission.rejected", "reason", "concurrency");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !properties.isEnabled()
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !matches(properties.getPaths(), path)
+                || matches(properties.getExcludedPaths(), path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long cost = estimateCost(request);
+        if (cost > memoryBudget.getCapacity()) {
+            rejectedTooLarge.increment();
+            Rejections.write(response, objectMapper, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Request too large: needs about " + cost / MB + " MB, the budget is "
+                            + memoryBudget.getCapacity() / MB + " MB");
+            return;
+        }
+        if (cost > 0 && !memoryBudget.tryReserve(cost)) {
+            rejectedMemory.increment();
+            Rejections.write(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Server is busy with other large requests, retry later");
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            memoryBudget.release(cost);
+            rejectedConcurrency.increment();
+            Rejections.write(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Server is overloaded, retry later");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (isLatencySampled(request)) {
+                limiter.onComplete(System.nanoTime() - start);
+            } else {
+                limiter.release();
+            }
+            memoryBudget.release(cost);
+        }
+    }
+
+    /**
+     * Whether the request's latency is a sample of interactive load
+     */
+    boolean isLatencySampled(HttpServletRequest request) {
+        return !matches(properties.getBulkPaths(), request.getRequestURI());
+    }
+
+    /**
+     * Estimated heap the request needs while it runs, in bytes
+     */
+    long estimateCost(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (GENERATE_PATH.equals(path)) {
+            long count;
+            try {
+                count = Long.parseLong(request.getParameter("count"));
+            } catch (NumberFormatException e) {
+                // Left to the controller's validation
+                return 0;
+            }
+            return saturatedMultiply(Math.max(count, 0), properties.getBytesPerGeneratedUser());
+        }
+        if (BATCH_PATH.equals(path)) {
+            long length = request.getContentLengthLong();
+            return saturatedMultiply(length < 0 ? properties.getUnknownUploadBytes() : length,
+                    properties.getUploadExpansionFactor());
+        }
+        return 0;
+    }
+
+    private static long saturatedMultiply(long value, long factor) {
+        return factor != 0 && value > Long.MAX_VALUE / factor ? Long.MAX_VALUE : value * factor;
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
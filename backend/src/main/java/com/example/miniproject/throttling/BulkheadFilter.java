@@ -0,0 +1,172 @@
+package com.example.miniproject.throttling;
+
+import com.example.miniproject.config.BulkheadProperties;
+import com.example.miniproject.config.BulkheadProperties.Compartment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs each class of request in its own bulkhead: generation, batch import,
+ * heavy reads (listings, searches, exports) and interactive requests (login,
+ * profiles) get separate concurrency limits and wait queues, so bulk work
+ * cannot take every Tomcat worker and stall logins. Requests that cannot get a permit in time are rejected with 503.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final BulkheadProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Route> routes;
+
+    public BulkheadFilter(BulkheadProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.routes = List.of(
+                route("generation", properties.getGeneration(), meterRegistry),
+                route("batch-import", properties.getBatchImport(), meterRegistry),
+                route("heavy-reads", properties.getHeavyReads(), meterRegistry),
+                route("interactive", properties.getInteractive(), meterRegistry));
+    }
+
+    private static Route route(String name, Compartment compartment, MeterRegistry meterRegistry) {
+        Bulkhead bulkhead = new Bulkhead(name, compartment.getMaxConcurrent(), compartment.getMaxQueued(),
+                compartment.getMaxWait());
+        Gauge.builder("bulkhead.active", bulkhead, Bulkhead::getActive).tag("bulkhead", name).register(meterRegistry);
+        Gauge.builder("bulkhead.queued", bulkhead, Bulkhead::getQueued).tag("bulkhead", name).register(meterRegistry);
+        return new Route(bulkhead, compartment.getPaths(),
+                meterRegistry.counter("bulkhead.rejected", "bulkhead", name),
+                Timer.builder("bulkhead.wait").tag("bulkhead", name).register(meterRegistry));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    /**
+     * Name of the bulkhead a request path runs in, or null when it is not limited
+     */
+    String bulkheadFor(String path) {
+        Route route = match(path);
+        return route == null ? null : route.bulkhead().getName();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = match(request.getRequestURI());
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = route.bulkhead().tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        route.waitTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            route.rejected().increment();
+            Rejections.write(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many concurrent " + route.bulkhead().getName() + " requests, retry later");
+            return;
+        }
+        boolean releaseNow = true;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streamed bodies (exports, change feeds) are written after this returns; keep the permit until then
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(route.bulkhead()));
+                releaseNow = false;
+            }
+        } finally {
+            if (releaseNow) {
+                route.bulkhead().release();
+            }
+        }
+    }
+
+    private Route match(String path) {
+        for (String pattern : properties.getExcludedPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return null;
+            }
+        }
+        for (Route route : routes) {
+            for (String pattern : route.paths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Releases the permit of an asynchronous request once, however it ends
+     */
+    private static final class ReleaseOnCompletion implements AsyncListener {
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnCompletion(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async processing restarts; stay registered for the final outcome
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private record Route(Bulkhead bulkhead, List<String> paths, Counter rejected, Timer waitTimer) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.miniproject.throttling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency, after the gradient
+ * algorithm of Netflix concurrency-limits. The limit is scaled by the ratio
+ * of baseline to recent latency, so it shrinks as soon as requests start to
+ * queue, and grows by about sqrt(limit) per update while latency stays flat.
+ */
+final class GradientLimiter {
+
+    // Weight of each sample in the recent latency average (about 10 samples)
+    private static final double RECENT_WEIGHT = 0.1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final int baselineWindow;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double estimatedLimit;
+    // Latency averages in nanoseconds, guarded by this
+    private double baselineRtt;
+    private double recentRtt;
+
+    GradientLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance,
+                    int baselineWindow) {
+        this.estimatedLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.baselineWindow = baselineWindow;
+    }
+
+    /**
+     * @return true when the request may proceed; it must then call {@link #onComplete(long)} or {@link #release()}
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) estimatedLimit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release the permit and feed the request latency into the limit
+     */
+    void onComplete(long rttNanos) {
+        int inflightBefore = inflight.getAndDecrement();
+        update(rttNanos, inflightBefore);
+    }
+
+    /**
+     * Release the permit without a latency sample, for requests of another class
+     */
+    void release() {
+        inflight.decrementAndGet();
+    }
+
+    private synchronized void update(long rttNanos, int inflightBefore) {
+        if (baselineRtt == 0) {
+            baselineRtt = rttNanos;
+            recentRtt = rttNanos;
+            return;
+        }
+        recentRtt += (rttNanos - recentRtt) * RECENT_WEIGHT;
+        baselineRtt += (recentRtt - baselineRtt) / baselineWindow;
+        if (baselineRtt > 2 * recentRtt) {
+            // Latency dropped for good (e.g. after warm-up); let the baseline catch up quickly
+            baselineRtt *= 0.95;
+        }
+        if (inflightBefore < estimatedLimit / 2) {
+            // Not limited by us, so latency says nothing about the limit
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * baselineRtt / recentRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    int getInflight() {
+        return inflight.get();
+    }
+}
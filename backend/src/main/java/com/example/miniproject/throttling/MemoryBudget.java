@@ -0,0 +1,43 @@
+package com.example.miniproject.throttling;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global heap budget shared by admitted requests. Each request reserves its
+ * estimated cost up front and releases it when it completes.
+ */
+final class MemoryBudget {
+
+    private final long capacity;
+    private final AtomicLong reserved = new AtomicLong();
+
+    MemoryBudget(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return false when the reservation would exceed the budget
+     */
+    boolean tryReserve(long bytes) {
+        long current;
+        do {
+            current = reserved.get();
+            if (current + bytes > capacity) {
+                return false;
+            }
+        } while (!reserved.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    void release(long bytes) {
+        reserved.addAndGet(-bytes);
+    }
+
+    long getCapacity() {
+        return capacity;
+    }
+
+    long getReserved() {
+        return reserved.get();
+    }
+}
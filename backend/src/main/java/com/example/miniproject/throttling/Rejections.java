@@ -0,0 +1,29 @@
+package com.example.miniproject.throttling;
+
+import com.example.miniproject.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * Writes the error body for requests turned away before reaching a controller
+ */
+final class Rejections {
+
+    private Rejections() {
+    }
+
+    static void write(HttpServletResponse response, ObjectMapper objectMapper, HttpStatus status, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), message));
+    }
+}
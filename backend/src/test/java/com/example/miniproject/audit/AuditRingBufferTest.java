@@ -0,0 +1,79 @@
+package com.example.miniproject.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer(5).capacity());
+        assertEquals(8, new AuditRingBuffer(8).capacity());
+        assertEquals(2, new AuditRingBuffer(1).capacity());
+    }
+
+    @Test
+    void shouldRejectOffersWhenFullUntilDrained() {
+        // given
+        AuditRingBuffer ring = new AuditRingBuffer(2);
+        assertEquals(0, ring.offer(1, AuditEventType.LOGIN_SUCCESS, "alice", 0, 0));
+        assertEquals(1, ring.offer(2, AuditEventType.LOGIN_FAILURE, "bob", 0, 0));
+
+        // when
+        long rejected = ring.offer(3, AuditEventType.TOKEN_ISSUED, "alice", 0, 0);
+        List<String> drained = new ArrayList<>();
+        int count = ring.drain((timestamp, type, subject, c, failed) -> drained.add(type + ":" + subject), 10);
+
+        // then
+        assertEquals(-1, rejected);
+        assertEquals(2, count);
+        assertEquals(List.of("LOGIN_SUCCESS:alice", "LOGIN_FAILURE:bob"), drained);
+        assertEquals(2, ring.offer(4, AuditEventType.BATCH_IMPORT, "admin", 10, 1));
+        assertEquals(1, ring.size());
+    }
+
+    @Test
+    void shouldDrainEveryEventOnceWithConcurrentProducers() throws Exception {
+        // given
+        int producers = 4;
+        int perProducer = 10_000;
+        AuditRingBuffer ring = new AuditRingBuffer(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (ring.offer(i, AuditEventType.BATCH_IMPORT, null, producer, i) < 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        // when
+        long[] sums = new long[producers];
+        int[] received = new int[1];
+        while (received[0] < producers * perProducer) {
+            received[0] += ring.drain((timestamp, type, subject, producer, value) -> sums[(int) producer] += value, 256);
+        }
+
+        // then
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        long expected = (long) perProducer * (perProducer - 1) / 2;
+        for (long sum : sums) {
+            assertEquals(expected, sum);
+        }
+        assertEquals(0, ring.size());
+    }
+}
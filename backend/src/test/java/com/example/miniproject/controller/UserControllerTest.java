@@ -1,22 +1,43 @@
 package com.example.miniproject.controller;
 
+import com.example.miniproject.dto.UserPageResponse;
 import com.example.miniproject.dto.UserResponse;
+import com.example.miniproject.dto.UserSummary;
+import com.example.miniproject.exception.ServiceUnavailableException;
 import com.example.miniproject.model.Role;
 import com.example.miniproject.security.JwtTokenProvider;
+import com.example.miniproject.service.ExportFormat;
+import com.example.miniproject.service.UserChangeBus;
+import com.example.miniproject.service.UserExportService;
 import com.example.miniproject.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -32,11 +53,18 @@ class UserControllerTest {
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockBean
+    private UserExportService userExportService;
+
+    @MockBean
+    private UserChangeBus userChangeBus;
+
     @Test
     @WithMockUser(username = "testuser")
     void shouldReturnCurrentUserProfile() throws Exception {
         // Arrange
         UserResponse mockResponse = createMockUserResponse("testuser");
+        when(userService.getProfileETag("testuser", null)).thenReturn("\"1-0\"");
         when(userService.getUserByUsername("testuser")).thenReturn(mockResponse);
 
         // Act & Assert
@@ -44,9 +72,58 @@ class UserControllerTest {
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""))
                 .andExpect(jsonPath("$.username").value("testuser"));
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldReturnNotModifiedWithoutLoadingProfileWhenETagMatches() throws Exception {
+        // Arrange
+        when(userService.getProfileETag("testuser", null)).thenReturn("\"1-3\"");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\", \"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+        verify(userService, never()).getUserByUsername("testuser");
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldReturnOnlySelectedFields() throws Exception {
+        // Arrange
+        List<String> fields = List.of("firstName", "email");
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("firstName", "Test");
+        profile.put("email", "test@example.com");
+        when(userService.getProfileETag("testuser", fields)).thenReturn("\"1-0-firstName.email\"");
+        when(userService.getProfileFields("testuser", fields)).thenReturn(profile);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me")
+                .param("fields", "email, firstName")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0-firstName.email\""))
+                .andExpect(jsonPath("$.firstName").value("Test"))
+                .andExpect(jsonPath("$.email").value("test@example.com"))
+                .andExpect(jsonPath("$.username").doesNotExist());
+        verify(userService, never()).getUserByUsername("testuser");
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldRejectUnknownFields() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me")
+                .param("fields", "password")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturnUnauthorizedWhenNotAuthenticated() throws Exception {
         // Act & Assert
@@ -55,6 +132,92 @@ class UserControllerTest {
                 .andExpect(status().is4xxClientError()); // Either 401 Unauthorized or 403 Forbidden
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void shouldReturnKeysetPageOfUsers() throws Exception {
+        // Arrange
+        UserPageResponse page = UserPageResponse.builder()
+            .items(List.of(new UserSummary(11L, "testuser", "test@example.com", "Test", "User", "US", Role.USER)))
+            .nextCursor(11L)
+            .build();
+        when(userService.listUsers(10L, 1)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users")
+                .param("after", "10")
+                .param("size", "1")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].username").value("testuser"))
+                .andExpect(jsonPath("$.nextCursor").value(11));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldForbidUserListingForNonAdmins() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void shouldServeGzipExportAsGzipFile() throws Exception {
+        // Arrange
+        when(userExportService.export(eq(ExportFormat.CSV), any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("id,username\r\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        });
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/users/export")
+                .param("format", "csv")
+                .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users.csv.gz"))
+                .andReturn();
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertEquals((byte) 0x1f, body[0]);
+        assertEquals((byte) 0x8b, body[1]);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void shouldAnswerServiceUnavailableWhenChangeFeedIsFull() throws Exception {
+        // Arrange
+        when(userChangeBus.subscribe(any()))
+                .thenThrow(new ServiceUnavailableException("Too many change feed subscribers"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(request().asyncNotStarted());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void shouldRejectBlankUsernamesInLookup() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/users/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usernames\": [\"alice\", \" \", null]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['usernames[1]']").value("Usernames must not be blank"))
+                .andExpect(jsonPath("$['usernames[2]']").value("Usernames must not be blank"));
+        verify(userService, never()).lookupUsers(anyList());
+    }
+
     private UserResponse createMockUserResponse(String username) {
         return UserResponse.builder()
             .username(username)
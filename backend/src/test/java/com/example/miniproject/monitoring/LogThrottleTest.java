@@ -0,0 +1,37 @@
+package com.example.miniproject.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LogThrottle throttle = new LogThrottle(Duration.ofNanos(100), clock::get);
+
+    @Test
+    void shouldLogOncePerIntervalAndReportSuppressedCount() {
+        // first occurrence is logged
+        assertEquals(0, throttle.tryAcquire("expired"));
+
+        // repeats inside the interval are suppressed
+        clock.set(50);
+        assertEquals(LogThrottle.SUPPRESSED, throttle.tryAcquire("expired"));
+        assertEquals(LogThrottle.SUPPRESSED, throttle.tryAcquire("expired"));
+
+        // the next one after the interval reports what was suppressed
+        clock.set(100);
+        assertEquals(2, throttle.tryAcquire("expired"));
+        assertEquals(LogThrottle.SUPPRESSED, throttle.tryAcquire("expired"));
+    }
+
+    @Test
+    void shouldThrottleKeysIndependently() {
+        assertEquals(0, throttle.tryAcquire("expired"));
+        assertEquals(0, throttle.tryAcquire("malformed"));
+        assertEquals(LogThrottle.SUPPRESSED, throttle.tryAcquire("malformed"));
+    }
+}
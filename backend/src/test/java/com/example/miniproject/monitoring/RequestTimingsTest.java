@@ -0,0 +1,61 @@
+package com.example.miniproject.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingsTest {
+
+    @Test
+    void shouldNotRecordWhenRequestIsNotTimed() {
+        // Act
+        long start = RequestTimings.start();
+        RequestTimings.stop("jwt", start);
+
+        // Assert
+        assertEquals(0L, start);
+    }
+
+    @Test
+    void shouldListPhasesInServerTimingFormat() {
+        // Arrange
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            // Act
+            RequestTimings.stop("jwt", RequestTimings.start());
+            RequestTimings.stop("profile-query", RequestTimings.start());
+            RequestTimings.stop("profile-query", RequestTimings.start());
+        } finally {
+            RequestTimings.end();
+        }
+        timings.finish();
+        String header = timings.toHeaderValue();
+
+        // Assert
+        assertTrue(header.startsWith("jwt;dur="), header);
+        assertEquals(1, header.split("profile-query;dur=").length - 1, header);
+        assertTrue(header.contains("total;dur="), header);
+    }
+
+    @Test
+    void shouldUseDecimalPointRegardlessOfDefaultLocale() {
+        // Arrange
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            RequestTimings timings = RequestTimings.begin();
+            RequestTimings.end();
+            timings.finish();
+
+            // Act
+            String header = timings.toHeaderValue();
+
+            // Assert
+            assertTrue(header.matches("total;dur=\\d+\\.\\d{3}"), header);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
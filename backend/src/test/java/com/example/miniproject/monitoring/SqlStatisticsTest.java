@@ -0,0 +1,41 @@
+package com.example.miniproject.monitoring;
+
+import com.example.miniproject.config.SqlMonitoringProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsTest {
+
+    @Test
+    void shouldNormalizeLiteralsAndInLists() {
+        // Act
+        String shape = SqlStatistics.normalize(
+                "select * from users  where username = 'bob' and id in (1, 2, 3) limit 10");
+
+        // Assert
+        assertEquals("select * from users where username = ? and id in (?...) limit ?", shape);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldGroupStatementsByShape() {
+        // Arrange
+        SqlStatistics statistics = new SqlStatistics(new SqlMonitoringProperties());
+
+        // Act
+        statistics.recordExecution(statistics.forSql("select * from users where id = 1"),
+                "select * from users where id = 1", 1_000_000, -1, false);
+        statistics.recordExecution(statistics.forSql("select * from users where id = 2"),
+                "select * from users where id = 2", 3_000_000, -1, false);
+
+        // Assert
+        Map<String, Object> statements = (Map<String, Object>) statistics.snapshot().get("statements");
+        assertEquals(1, statements.size());
+        Map<String, Object> summary = (Map<String, Object>) statements.get("select * from users where id = ?");
+        assertEquals(2L, summary.get("count"));
+        assertEquals(3.0, (Double) summary.get("maxMs"), 0.001);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.miniproject.monitoring;
+
+import com.example.miniproject.service.JitWarmUp;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupReportTest {
+
+    @Test
+    void shouldListTenSlowestStepsSlowestFirst() throws Exception {
+        // given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(StartupReport.TIMELINE_CAPACITY);
+        for (int i = 0; i < StartupReport.SLOWEST_STEPS + 2; i++) {
+            startup.start("fast." + i).end();
+        }
+        StartupStep slow = startup.start("slow").tag("beanName", "userStatistics");
+        Thread.sleep(20);
+        slow.end();
+
+        // when
+        List<StartupTimeline.TimelineEvent> steps =
+                StartupReport.slowestSteps(startup.getBufferedTimeline().getEvents());
+
+        // then
+        assertEquals(StartupReport.SLOWEST_STEPS, steps.size());
+        assertEquals("slow", steps.get(0).getStartupStep().getName());
+        assertEquals("beanName=userStatistics", StartupReport.describe(steps.get(0)));
+    }
+
+    @Test
+    void shouldReportReadinessOnlyAfterTheWarmUp() throws Exception {
+        // given
+        Order report = StartupReport.class.getMethod("onReady", ApplicationReadyEvent.class).getAnnotation(Order.class);
+        Order warmUp = JitWarmUp.class.getMethod("warmUp").getAnnotation(Order.class);
+
+        // then: lower values run first
+        assertTrue(warmUp.value() < report.value());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.miniproject.security;
+
+import com.example.miniproject.config.JwtProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReportRevokedTokenUntilItExpires() {
+        // Arrange
+        TokenRevocationStore store = new TokenRevocationStore(new JwtProperties());
+        store.init();
+
+        // Act
+        store.revoke("live", System.currentTimeMillis() + 60_000);
+        store.revoke("expired", System.currentTimeMillis() - 1);
+
+        // Assert
+        assertTrue(store.isRevoked("live"));
+        assertFalse(store.isRevoked("expired"));
+        assertFalse(store.isRevoked(null));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void shouldReloadRevokedTokensFromFile() {
+        // Arrange
+        JwtProperties properties = new JwtProperties();
+        properties.setRevocationFile(tempDir.resolve("revoked.txt").toString());
+        TokenRevocationStore store = new TokenRevocationStore(properties);
+        store.init();
+        store.revoke("token-1", System.currentTimeMillis() + 60_000);
+
+        // Act
+        TokenRevocationStore restarted = new TokenRevocationStore(properties);
+        restarted.init();
+
+        // Assert
+        assertTrue(restarted.isRevoked("token-1"));
+    }
+}
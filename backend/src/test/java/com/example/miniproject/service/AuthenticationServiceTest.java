@@ -1,12 +1,16 @@
 package com.example.miniproject.service;
 
+import com.example.miniproject.audit.AuditLog;
 import com.example.miniproject.dto.AuthRequest;
 import com.example.miniproject.dto.AuthResponse;
 import com.example.miniproject.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -15,6 +19,7 @@ import org.springframework.security.core.Authentication;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +34,12 @@ class AuthenticationServiceTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private AuditLog auditLog;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -50,6 +61,7 @@ class AuthenticationServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals(TEST_TOKEN, response.getAccessToken());
+        assertEquals(1.0, meterRegistry.counter("auth.attempts", "outcome", "success").count());
     }
 
     @Test
@@ -63,5 +75,7 @@ class AuthenticationServiceTest {
         assertThrows(BadCredentialsException.class, () -> {
             authenticationService.authenticate(request);
         });
+        assertEquals(1.0, meterRegistry.counter("auth.attempts", "outcome", "failure").count());
+        verify(auditLog).loginFailed(TEST_USERNAME);
     }
 }
@@ -0,0 +1,30 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeCursorTest {
+
+    @Test
+    void shouldRoundTripAtMicrosecondPrecision() {
+        // given
+        Instant updatedAt = Instant.parse("2024-03-01T10:15:30.123456789Z");
+
+        // when
+        ChangeCursor decoded = ChangeCursor.decode(new ChangeCursor(updatedAt, 42L).encode());
+
+        // then
+        assertEquals(Instant.parse("2024-03-01T10:15:30.123456Z"), decoded.getUpdatedAt());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void shouldRejectGarbageCursor() {
+        assertThrows(BadRequestException.class, () -> ChangeCursor.decode("not-a-cursor"));
+        assertThrows(BadRequestException.class, () -> ChangeCursor.decode("%%%"));
+    }
+}
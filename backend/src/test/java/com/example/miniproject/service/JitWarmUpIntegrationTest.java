@@ -0,0 +1,44 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"warmup.enabled=true", "warmup.max-iterations=20", "warmup.bcrypt-period=10"})
+class JitWarmUpIntegrationTest {
+
+    @Autowired
+    private JitWarmUp jitWarmUp;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldLeaveNoWarmUpUsersBehind() {
+        // when
+        jitWarmUp.warmUp();
+
+        // then
+        for (int i = 0; i < 20; i++) {
+            assertFalse(userRepository.existsByUsername("warmup-" + i), "warmup-" + i + " was not rolled back");
+        }
+    }
+
+    @Test
+    void shouldSendLoopbackRequestsThroughTheHttpStack() {
+        // when
+        jitWarmUp.warmUp();
+
+        // then
+        assertNotNull(meterRegistry.find("http.server.requests").tag("uri", "/api/auth").tag("status", "400").timer(),
+                "the warm-up login request should have reached the DispatcherServlet");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.miniproject.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JitWarmUpTest {
+
+    @Test
+    void shouldReportFirstCallAndAverageOfLastTenth() {
+        // given
+        JitWarmUp.LatencySamples samples = new JitWarmUp.LatencySamples(20);
+        samples.record(TimeUnit.MILLISECONDS.toNanos(50));
+        for (int i = 1; i < 18; i++) {
+            samples.record(TimeUnit.MICROSECONDS.toNanos(500));
+        }
+        samples.record(TimeUnit.MICROSECONDS.toNanos(100));
+        samples.record(TimeUnit.MICROSECONDS.toNanos(300));
+
+        // then
+        assertEquals(50_000, samples.firstMicros());
+        assertEquals(2, samples.tailSize());
+        assertEquals(200, samples.tailAverageMicros());
+    }
+
+    @Test
+    void shouldIgnoreSamplesBeyondCapacity() {
+        JitWarmUp.LatencySamples samples = new JitWarmUp.LatencySamples(1);
+        samples.record(1_000);
+        samples.record(2_000);
+
+        assertEquals(1, samples.size());
+        assertEquals(1, samples.tailSize());
+        assertEquals(1, samples.tailAverageMicros());
+    }
+}
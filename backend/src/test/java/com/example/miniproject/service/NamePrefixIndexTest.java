@@ -0,0 +1,67 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.model.User;
+import com.example.miniproject.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NamePrefixIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private NamePrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NamePrefixIndex(userRepository);
+        index.addAll(List.of(
+            User.builder().id(1L).firstName("Anna").lastName("Smith").build(),
+            User.builder().id(2L).firstName("Andrew").lastName("Annandale").build(),
+            User.builder().id(3L).firstName("Bob").lastName("Anders").build()
+        ));
+    }
+
+    @Test
+    void shouldMatchFirstAndLastNamePrefixesIgnoringCase() {
+        assertEquals(Set.of(1L, 2L, 3L), index.findIds("an", 10));
+        assertEquals(Set.of(1L, 2L), index.findIds("ANN", 10));
+        assertEquals(Set.of(1L), index.findIds("smi", 10));
+        assertTrue(index.findIds("zz", 10).isEmpty());
+    }
+
+    @Test
+    void shouldReportOverflowInsteadOfTruncating() {
+        assertNull(index.findIds("an", 2));
+        assertEquals(Set.of(1L, 2L, 3L), index.findIds("an", 3));
+    }
+
+    @Test
+    void shouldKeepUsersAddedDuringRebuild() {
+        // given: a user is imported while the rebuild scans the table, after the scan has passed it
+        when(userRepository.findNamesAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            index.addAll(List.of(User.builder().id(4L).firstName("Zoe").lastName("Young").build()));
+            return List.of();
+        });
+
+        // when
+        index.rebuild();
+
+        // then
+        assertEquals(Set.of(4L), index.findIds("zo", 10));
+        assertTrue(index.findIds("an", 10).isEmpty());
+    }
+}
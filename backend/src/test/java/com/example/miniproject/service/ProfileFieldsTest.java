@@ -0,0 +1,35 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileFieldsTest {
+
+    @Test
+    void shouldReturnSelectionInResponseOrderWithoutDuplicates() {
+        assertEquals(List.of("firstName", "username", "email"),
+                ProfileFields.parse("email, username,firstName,email"));
+    }
+
+    @Test
+    void shouldReturnNullWithoutSelection() {
+        assertNull(ProfileFields.parse(null));
+        assertNull(ProfileFields.parse(" "));
+        assertNull(ProfileFields.parse(",,"));
+    }
+
+    @Test
+    void shouldRejectUnknownField() {
+        assertThrows(BadRequestException.class, () -> ProfileFields.parse("username,password"));
+    }
+
+    @Test
+    void shouldCoverEveryUserResponseProperty() {
+        assertEquals(12, ProfileFields.ALL.size());
+        assertFalse(ProfileFields.ALL.contains("password"));
+    }
+}
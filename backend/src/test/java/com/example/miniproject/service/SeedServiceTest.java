@@ -0,0 +1,189 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.config.SeedProperties;
+import com.example.miniproject.dto.SeedJobResponse;
+import com.example.miniproject.exception.BadRequestException;
+import com.example.miniproject.exception.ResourceNotFoundException;
+import com.example.miniproject.model.User;
+import com.example.miniproject.repository.UserBulkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeedServiceTest {
+
+    @Mock
+    private UserBulkRepository userBulkRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private NamePrefixIndex namePrefixIndex;
+
+    @Mock
+    private UserChangeBus userChangeBus;
+
+    @Mock
+    private UserStatistics userStatistics;
+
+    private final SeedProperties seedProperties = new SeedProperties();
+    private ExecutorService seedExecutor;
+    private ExecutorService seedHashExecutor;
+    private SeedService seedService;
+
+    @BeforeEach
+    void setUp() {
+        seedProperties.setBatchSize(2);
+        seedProperties.setMaxCount(10);
+        seedProperties.setHashThreads(2);
+        seedExecutor = Executors.newSingleThreadExecutor();
+        seedHashExecutor = Executors.newFixedThreadPool(2);
+        UserService userService = new UserService(null, null, new SimpleMeterRegistry(), null, null, null, null, null);
+        seedService = new SeedService(userService, userBulkRepository, passwordEncoder, seedProperties,
+                new MockEnvironment(), seedExecutor, seedHashExecutor, namePrefixIndex, userChangeBus, userStatistics);
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed-" + invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        seedExecutor.shutdownNow();
+        seedHashExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldRejectCountsOutsideLimits() {
+        assertThrows(BadRequestException.class, () -> seedService.startSeeding(0, 42, false));
+        assertThrows(BadRequestException.class, () -> seedService.startSeeding(11, 42, false));
+
+        verifyNoInteractions(userBulkRepository);
+    }
+
+    @Test
+    void shouldRejectFastHashingOutsideDevProfile() {
+        assertThrows(BadRequestException.class, () -> seedService.startSeeding(1, 42, true));
+    }
+
+    @Test
+    void shouldGenerateSameUsersForSameSeed() throws Exception {
+        // given
+        List<List<User>> chunks = new ArrayList<>();
+        when(userBulkRepository.insertAll(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<User> chunk = invocation.getArgument(0);
+            chunks.add(List.copyOf(chunk));
+            return chunk.size();
+        });
+
+        // when
+        seedService.startSeeding(5, 42, false);
+        seedService.startSeeding(5, 42, false);
+        awaitJobs();
+
+        // then
+        assertEquals(6, chunks.size());
+        List<String> first = describe(chunks.subList(0, 3));
+        List<String> second = describe(chunks.subList(3, 6));
+        assertEquals(5, first.size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void shouldReportCompletedJob() throws Exception {
+        // given
+        when(userBulkRepository.insertAll(anyList(), anyInt())).thenAnswer(invocation ->
+                ((List<?>) invocation.getArgument(0)).size());
+
+        // when
+        SeedJobResponse queued = seedService.startSeeding(5, 7, false);
+        awaitJobs();
+        SeedJobResponse finished = seedService.getJob(queued.getId());
+
+        // then
+        assertEquals(5, queued.getRequested());
+        assertEquals("COMPLETED", finished.getState());
+        assertEquals(5, finished.getInserted());
+        assertNotNull(finished.getFinishedAt());
+        verify(namePrefixIndex).rebuild();
+    }
+
+    @Test
+    void shouldCountOnlyCommittedChunksWhenJobFails() throws Exception {
+        // given
+        when(userBulkRepository.insertAll(anyList(), anyInt()))
+                .thenReturn(2)
+                .thenThrow(new IllegalStateException("disk full"));
+
+        // when
+        SeedJobResponse queued = seedService.startSeeding(5, 7, false);
+        awaitJobs();
+        SeedJobResponse failed = seedService.getJob(queued.getId());
+
+        // then
+        assertEquals("FAILED", failed.getState());
+        assertEquals(2, failed.getInserted());
+        assertEquals("disk full", failed.getError());
+        verify(userStatistics, atLeastOnce()).addAll(anyList());
+    }
+
+    @Test
+    void shouldEvictOldestFinishedJobsBeyondLimit() throws Exception {
+        // given
+        seedProperties.setMaxFinishedJobs(1);
+        when(userBulkRepository.insertAll(anyList(), anyInt())).thenReturn(1);
+        SeedJobResponse first = seedService.startSeeding(1, 1, false);
+        awaitJobs();
+
+        // when
+        SeedJobResponse second = seedService.startSeeding(1, 2, false);
+        awaitJobs();
+        SeedJobResponse third = seedService.startSeeding(1, 3, false);
+        awaitJobs();
+
+        // then
+        assertThrows(ResourceNotFoundException.class, () -> seedService.getJob(first.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> seedService.getJob(second.getId()));
+        assertEquals("COMPLETED", seedService.getJob(third.getId()).getState());
+    }
+
+    /**
+     * Jobs run one at a time, so a no-op queued behind them completes once they are done
+     */
+    private void awaitJobs() throws Exception {
+        seedExecutor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+    }
+
+    private static List<String> describe(List<List<User>> chunks) {
+        List<String> users = new ArrayList<>();
+        for (List<User> chunk : chunks) {
+            for (User user : chunk) {
+                users.add(user.getUsername() + " " + user.getEmail() + " " + user.getFirstName() + " "
+                        + user.getLastName() + " " + user.getCompany() + " " + user.getPassword());
+            }
+        }
+        return users;
+    }
+}
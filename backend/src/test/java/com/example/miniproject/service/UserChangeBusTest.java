@@ -0,0 +1,117 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.config.ChangeFeedProperties;
+import com.example.miniproject.dto.UserChangeEvent;
+import com.example.miniproject.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserChangeBusTest {
+
+    @Mock
+    private ExecutorService executor;
+
+    private ChangeFeedProperties properties;
+    private UserChangeBus bus;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ChangeFeedProperties();
+        properties.setBufferSize(2);
+        properties.setMaxSubscribers(1);
+        bus = new UserChangeBus(properties, executor, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldDropOldestEventsWhenBufferIsFull() throws Exception {
+        // given
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        bus.subscribe(subscriber);
+
+        // when
+        bus.publish(List.of(seeded(1), seeded(2), seeded(3)));
+        drain();
+
+        // then
+        assertEquals(List.of(2L, 3L), subscriber.counts);
+        assertNull(subscriber.closeReason);
+    }
+
+    @Test
+    void shouldCloseSubscriberWhenBufferIsFullWithDisconnectPolicy() throws Exception {
+        // given
+        properties.setOverflowPolicy(ChangeFeedProperties.OverflowPolicy.DISCONNECT);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        bus.subscribe(subscriber);
+
+        // when
+        bus.publish(List.of(seeded(1), seeded(2), seeded(3)));
+
+        // then
+        assertEquals("slow consumer", subscriber.closeReason);
+        assertEquals(0, bus.subscriberCount());
+    }
+
+    @Test
+    void shouldRejectSubscribersBeyondLimit() {
+        bus.subscribe(new RecordingSubscriber());
+
+        assertThrows(ServiceUnavailableException.class, () -> bus.subscribe(new RecordingSubscriber()));
+    }
+
+    @Test
+    void shouldStopDeliveryAfterCancel() {
+        // given
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        bus.subscribe(subscriber).cancel();
+
+        // when
+        bus.publish(seeded(1));
+
+        // then
+        assertTrue(subscriber.counts.isEmpty());
+        assertEquals(0, bus.subscriberCount());
+    }
+
+    private void drain() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(task.capture());
+        task.getValue().run();
+    }
+
+    private static UserChangeEvent seeded(long count) {
+        return UserChangeEvent.builder().type(UserChangeEvent.Type.SEEDED).count(count).build();
+    }
+
+    private static class RecordingSubscriber implements UserChangeBus.Subscriber {
+        private final List<Long> counts = new ArrayList<>();
+        private String closeReason;
+
+        @Override
+        public void onEvent(UserChangeEvent event) {
+            counts.add(event.getCount());
+        }
+
+        @Override
+        public void onHeartbeat() {
+        }
+
+        @Override
+        public void onClose(String reason) {
+            closeReason = reason;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.model.Role;
+import com.example.miniproject.model.User;
+import com.example.miniproject.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class UserExportServiceTest {
+
+    private static final String TRICKY_COMPANY = "Smith, \"Jones\" &\nSons";
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldQuoteCsvFieldsWithCommasQuotesAndNewlines() throws Exception {
+        // given
+        userRepository.saveAndFlush(user("export-csv", TRICKY_COMPANY));
+
+        // when
+        String csv = export(ExportFormat.CSV);
+
+        // then
+        assertTrue(csv.startsWith(String.join(",", UserExportService.COLUMNS) + "\r\n"), csv);
+        assertTrue(csv.contains(",\"Smith, \"\"Jones\"\" &\nSons\",Engineer,"), csv);
+        assertTrue(csv.contains(",export-csv,export-csv@example.com,John,Doe,1990-01-01,"), csv);
+        assertFalse(csv.contains("$2a$"), "password hashes must never be exported");
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLineForNdjson() throws Exception {
+        // given
+        userRepository.saveAndFlush(user("export-ndjson", TRICKY_COMPANY));
+
+        // when
+        String ndjson = export(ExportFormat.NDJSON);
+
+        // then
+        JsonNode exported = null;
+        for (String line : ndjson.split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            if ("export-ndjson".equals(node.get("username").asText())) {
+                exported = node;
+            }
+        }
+        assertNotNull(exported, ndjson);
+        assertEquals(TRICKY_COMPANY, exported.get("company").asText());
+        assertEquals("1990-01-01", exported.get("birthDate").asText());
+        assertFalse(exported.has("password"));
+    }
+
+    @Test
+    void shouldWriteJsonArray() throws Exception {
+        // given
+        userRepository.saveAndFlush(user("export-json", "Acme"));
+
+        // when
+        JsonNode array = objectMapper.readTree(export(ExportFormat.JSON));
+
+        // then
+        assertTrue(array.isArray());
+        List<String> usernames = new ArrayList<>();
+        array.forEach(node -> usernames.add(node.get("username").asText()));
+        assertTrue(usernames.contains("export-json"), usernames.toString());
+        assertEquals(userRepository.count(), array.size());
+    }
+
+    @Test
+    void shouldExportOnlyChangesAfterCursor() throws Exception {
+        // given
+        User user = userRepository.saveAndFlush(user("export-changes", "Acme"));
+        ChangeCursor before = new ChangeCursor(user.getUpdatedAt().minusSeconds(1), 0L);
+        ChangeCursor after = new ChangeCursor(user.getUpdatedAt().plusSeconds(1), 0L);
+        Instant until = Instant.now().plusSeconds(2);
+
+        // when
+        ByteArrayOutputStream fromBefore = new ByteArrayOutputStream();
+        userExportService.exportChanges(ExportFormat.NDJSON, fromBefore, before, until);
+        ByteArrayOutputStream fromAfter = new ByteArrayOutputStream();
+        userExportService.exportChanges(ExportFormat.NDJSON, fromAfter, after, until);
+
+        // then
+        assertTrue(fromBefore.toString(StandardCharsets.UTF_8).contains("\"export-changes\""));
+        assertFalse(fromAfter.toString(StandardCharsets.UTF_8).contains("\"export-changes\""));
+    }
+
+    @Test
+    void shouldParseFormatsRegardlessOfDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals(ExportFormat.JSON, ExportFormat.fromString("json"));
+            assertEquals(ExportFormat.NDJSON, ExportFormat.fromString("NdJson"));
+            assertEquals(ExportFormat.CSV, ExportFormat.fromString("csv"));
+            assertNull(ExportFormat.fromString("xml"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    private String export(ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userExportService.export(format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static User user(String username, String company) {
+        return User.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .city("Berlin")
+                .country("DE")
+                .avatar("https://example.com/avatar.png")
+                .company(company)
+                .jobPosition("Engineer")
+                .mobile("+1 555 0100 000")
+                .username(username)
+                .email(username + "@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .role(Role.USER)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.dto.UserSearchCriteria;
+import com.example.miniproject.dto.UserSummary;
+import com.example.miniproject.model.Role;
+import com.example.miniproject.model.User;
+import com.example.miniproject.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class UserSearchIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NamePrefixIndex namePrefixIndex;
+
+    @Test
+    void shouldFindMatchBeyondTheIndexCandidateCap() {
+        // given: more "Jo" users than the index hands out, and the only German one is the last
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i <= UserService.NAME_PREFIX_CANDIDATES; i++) {
+            users.add(user("search" + i, i == UserService.NAME_PREFIX_CANDIDATES ? "DE" : "US"));
+        }
+        userRepository.saveAll(users);
+        namePrefixIndex.addAll(users);
+        UserSearchCriteria criteria = UserSearchCriteria.builder().namePrefix("jo").country("DE").build();
+
+        // when
+        List<UserSummary> result = userService.searchUsers(criteria, 10);
+
+        // then
+        assertEquals(1, result.size());
+        assertEquals("search" + UserService.NAME_PREFIX_CANDIDATES, result.get(0).getUsername());
+    }
+
+    @AfterTransaction
+    void rebuildIndex() {
+        // The index outlives this test's rolled-back transaction
+        namePrefixIndex.rebuild();
+    }
+
+    private static User user(String username, String country) {
+        return User.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .city("Berlin")
+                .country(country)
+                .avatar("https://example.com/avatar.png")
+                .company("Acme")
+                .jobPosition("Engineer")
+                .mobile("+1 555 0100 000")
+                .username(username)
+                .email(username + "@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .role(Role.USER)
+                .build();
+    }
+}
@@ -1,21 +1,40 @@
 package com.example.miniproject.service;
 
-import com.example.miniproject.mapper.UserMapper;
+import com.example.miniproject.audit.AuditLog;
+import com.example.miniproject.dto.UserLookupResponse;
+import com.example.miniproject.dto.UserPageResponse;
+import com.example.miniproject.dto.UserResponse;
+import com.example.miniproject.dto.UserSummary;
+import com.example.miniproject.exception.ResourceNotFoundException;
 import com.example.miniproject.model.Role;
 import com.example.miniproject.model.User;
 import com.example.miniproject.repository.UserRepository;
+import com.example.miniproject.repository.UserVersionView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -27,7 +46,16 @@ class UserServiceTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private UserMapper userMapper;
+    private UserChangeBus userChangeBus;
+
+    @Mock
+    private UserStatistics userStatistics;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private UserImportWriter userImportWriter;
 
     private UserService userService;
 
@@ -37,7 +65,8 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        userService = new UserService(userRepository, passwordEncoder, userMapper);
+        userService = new UserService(userRepository, passwordEncoder, new SimpleMeterRegistry(),
+                new NamePrefixIndex(userRepository), userChangeBus, userStatistics, auditLog, userImportWriter);
     }
 
     @Test
@@ -121,4 +150,140 @@ class UserServiceTest {
                 "User should be less than 65 years old");
         });
     }
+
+    @Test
+    @DisplayName("Should read profiles through the projection without loading the entity")
+    void shouldReadProfileThroughProjection() {
+        // given
+        UserResponse profile = UserResponse.builder().username("testuser").role(Role.USER).build();
+        when(userRepository.findProfileByUsername("testuser")).thenReturn(Optional.of(profile));
+
+        // when
+        UserResponse result = userService.getUserByUsername("testuser");
+
+        // then
+        assertSame(profile, result);
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should throw when the profile does not exist")
+    void shouldThrowWhenProfileNotFound() {
+        // given
+        when(userRepository.findProfileByUsername("missing")).thenReturn(Optional.empty());
+
+        // when / then
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByUsername("missing"));
+    }
+
+    @Test
+    @DisplayName("Should build the profile ETag from id and version without loading the profile")
+    void shouldBuildProfileETagFromVersion() {
+        // given
+        UserVersionView version = mock(UserVersionView.class);
+        when(version.getId()).thenReturn(7L);
+        when(version.getVersion()).thenReturn(2L);
+        when(userRepository.findVersionByUsername("testuser")).thenReturn(Optional.of(version));
+
+        // when
+        String etag = userService.getProfileETag("testuser", null);
+
+        // then
+        assertEquals("\"7-2\"", etag);
+        verify(userRepository, never()).findProfileByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should resolve usernames in chunks and report the missing ones")
+    void shouldLookupUsersInChunks() {
+        // given
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            usernames.add("user" + i);
+        }
+        usernames.add("user0"); // duplicates are resolved once
+        when(userRepository.findProfilesByUsernameIn(anyCollection()))
+                .thenAnswer(invocation -> {
+                    Collection<String> chunk = invocation.getArgument(0);
+                    return chunk.stream()
+                            .filter(name -> !name.equals("user599"))
+                            .map(name -> UserResponse.builder().username(name).build())
+                            .toList();
+                });
+
+        // when
+        UserLookupResponse response = userService.lookupUsers(usernames);
+
+        // then
+        verify(userRepository, times(2)).findProfilesByUsernameIn(anyCollection());
+        assertEquals(599, response.getUsers().size());
+        assertEquals(List.of("user599"), response.getNotFound());
+    }
+
+    @Test
+    @DisplayName("Should audit a rolled back import as failed")
+    void shouldAuditRolledBackImportAsFailed() {
+        // given
+        List<User> users = List.of(
+                User.builder().username("first").email("first@example.com").password("secret1").build(),
+                User.builder().username("second").email("second@example.com").password("secret2").build());
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(userImportWriter.insert(anyList())).thenThrow(new IllegalStateException("constraint violated"));
+
+        // when
+        assertThrows(IllegalStateException.class, () -> userService.importUsers(users));
+
+        // then
+        verify(auditLog).batchImported(0, 2);
+        verify(auditLog, never()).batchImported(2, 0);
+        verify(userStatistics, never()).addAll(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra row and return a cursor when another page exists")
+    void shouldReturnNextCursorWhenMoreRowsExist() {
+        // given
+        when(userRepository.findPageAfter(0L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(summary(11L), summary(12L), summary(13L)));
+
+        // when
+        UserPageResponse page = userService.listUsers(null, 2);
+
+        // then
+        assertEquals(List.of(11L, 12L), page.getItems().stream().map(UserSummary::getId).toList());
+        assertEquals(12L, page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should return no cursor when the last page is exactly full")
+    void shouldReturnNoCursorWhenLastPageIsExactlyFull() {
+        // given
+        when(userRepository.findPageAfter(12L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(summary(13L), summary(14L)));
+
+        // when
+        UserPageResponse page = userService.listUsers(12L, 2);
+
+        // then
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should return an empty page without a cursor after the last row")
+    void shouldReturnEmptyPageAfterLastRow() {
+        // given
+        when(userRepository.findPageAfter(14L, PageRequest.of(0, 3))).thenReturn(List.of());
+
+        // when
+        UserPageResponse page = userService.listUsers(14L, 2);
+
+        // then
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    private static UserSummary summary(long id) {
+        return new UserSummary(id, "user" + id, "user" + id + "@example.com", "First", "Last", "US", Role.USER);
+    }
 }
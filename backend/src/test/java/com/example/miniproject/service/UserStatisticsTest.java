@@ -0,0 +1,141 @@
+package com.example.miniproject.service;
+
+import com.example.miniproject.dto.UserStatsResponse;
+import com.example.miniproject.model.Role;
+import com.example.miniproject.model.User;
+import com.example.miniproject.repository.UserCountView;
+import com.example.miniproject.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatisticsTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserStatistics statistics;
+
+    @Test
+    void shouldKeepCountsCurrentAfterRebuildAddAndRemove() {
+        // given
+        int thirtyYearsAgo = LocalDate.now().getYear() - 30;
+        when(userRepository.countByCountry()).thenReturn(List.of(count("FR", 2), count(null, 1)));
+        when(userRepository.countByRole()).thenReturn(List.of(count(Role.USER, 3)));
+        when(userRepository.countByCompany()).thenReturn(List.of(count("Acme", 3)));
+        when(userRepository.countByBirthYear()).thenReturn(List.of(count(thirtyYearsAgo, 3)));
+        statistics.rebuild();
+        User added = User.builder().country("FR").role(Role.ADMIN).company("Acme")
+                .birthDate(LocalDate.now().minusYears(70)).build();
+        User removed = User.builder().country("FR").role(Role.USER).company("Acme")
+                .birthDate(LocalDate.of(thirtyYearsAgo, 6, 1)).build();
+
+        // when
+        statistics.addAll(List.of(added));
+        statistics.removeAll(List.of(removed));
+        UserStatsResponse stats = statistics.snapshot();
+
+        // then
+        assertEquals(3, stats.getTotal());
+        assertEquals(Map.of("FR", 2L, UserStatistics.UNKNOWN, 1L), stats.getByCountry());
+        assertEquals(Map.of("ADMIN", 1L, "USER", 2L), stats.getByRole());
+        assertEquals(Map.of("Acme", 3L), stats.getByCompany());
+        assertEquals(Map.of("25-34", 2L, "65+", 1L), stats.getByAgeBucket());
+    }
+
+    @Test
+    void shouldKeepChangesCommittedDuringRebuild() {
+        // given: a user is imported after the rebuild's snapshot has opened
+        User imported = User.builder().country("FR").role(Role.USER).company("Acme")
+                .birthDate(LocalDate.of(1990, 1, 1)).build();
+        when(userRepository.countByCountry()).thenReturn(List.of(count("FR", 1)));
+        when(userRepository.countByRole()).thenAnswer(invocation -> {
+            statistics.addAll(List.of(imported));
+            return List.of();
+        });
+
+        // when
+        statistics.rebuild();
+        UserStatsResponse stats = statistics.snapshot();
+
+        // then
+        assertEquals(2, stats.getTotal());
+        assertEquals(Map.of("FR", 2L), stats.getByCountry());
+        assertEquals(Map.of("Acme", 1L), stats.getByCompany());
+    }
+
+    @Test
+    void shouldNotCountTwiceChangesAlreadyInTheSnapshot() {
+        // given: a user is imported just before the rebuild's snapshot opens, so the queries see it
+        User imported = User.builder().country("FR").role(Role.USER).company("Acme")
+                .birthDate(LocalDate.of(1990, 1, 1)).build();
+        when(userRepository.count()).thenAnswer(invocation -> {
+            statistics.addAll(List.of(imported));
+            return 1L;
+        });
+        when(userRepository.countByCountry()).thenReturn(List.of(count("FR", 1)));
+
+        // when
+        statistics.rebuild();
+        UserStatsResponse stats = statistics.snapshot();
+
+        // then
+        assertEquals(1, stats.getTotal());
+        assertEquals(Map.of("FR", 1L), stats.getByCountry());
+    }
+
+    @Test
+    void shouldListLargestCompaniesAndSumTheRestIntoOther() {
+        // given
+        List<UserCountView> companies = new ArrayList<>();
+        for (int i = 0; i < UserStatistics.TOP_COMPANIES + 5; i++) {
+            companies.add(count("Company " + i, i + 1));
+        }
+        when(userRepository.countByCompany()).thenReturn(companies);
+
+        // when
+        statistics.rebuild();
+        Map<String, Long> byCompany = statistics.snapshot().getByCompany();
+
+        // then
+        assertEquals(UserStatistics.TOP_COMPANIES + 1, byCompany.size());
+        String largest = "Company " + (UserStatistics.TOP_COMPANIES + 4);
+        assertEquals(largest, byCompany.keySet().iterator().next());
+        assertFalse(byCompany.containsKey("Company 4"));
+        assertEquals(1L + 2 + 3 + 4 + 5, byCompany.get(UserStatistics.OTHER));
+    }
+
+    @Test
+    void shouldPlaceAgesInBuckets() {
+        assertEquals("0-17", UserStatistics.ageBucket(17));
+        assertEquals("18-24", UserStatistics.ageBucket(18));
+        assertEquals("55-64", UserStatistics.ageBucket(64));
+        assertEquals("65+", UserStatistics.ageBucket(65));
+    }
+
+    private static UserCountView count(Object bucket, long count) {
+        return new UserCountView() {
+            @Override
+            public Object getBucket() {
+                return bucket;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.miniproject.throttling;
+
+import com.example.miniproject.config.AdmissionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AdmissionControlFilter(new AdmissionProperties(), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldScaleGenerateCostWithCount() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", AdmissionControlFilter.GENERATE_PATH);
+        request.setParameter("count", "1000");
+
+        assertEquals(1000 * 2048L, filter.estimateCost(request));
+    }
+
+    @Test
+    void shouldScaleUploadCostWithContentLength() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", AdmissionControlFilter.BATCH_PATH);
+        request.setContent(new byte[1000]);
+
+        assertEquals(4000L, filter.estimateCost(request));
+    }
+
+    @Test
+    void shouldRejectGenerationBeyondBudgetWithoutCallingChain() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", AdmissionControlFilter.GENERATE_PATH);
+        request.setParameter("count", "50000000000");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // when
+        filter.doFilter(request, response, chain);
+
+        // then
+        assertEquals(413, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void shouldPassSmallRequestThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void shouldSampleLatencyOnlyFromInteractiveRequests() {
+        assertTrue(filter.isLatencySampled(new MockHttpServletRequest("GET", "/api/users/me")));
+        assertTrue(filter.isLatencySampled(new MockHttpServletRequest("POST", "/api/auth/login")));
+        assertFalse(filter.isLatencySampled(new MockHttpServletRequest("GET", AdmissionControlFilter.GENERATE_PATH)));
+        assertFalse(filter.isLatencySampled(new MockHttpServletRequest("POST", AdmissionControlFilter.BATCH_PATH)));
+    }
+}
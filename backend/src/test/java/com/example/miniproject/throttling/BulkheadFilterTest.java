@@ -0,0 +1,71 @@
+package com.example.miniproject.throttling;
+
+import com.example.miniproject.config.BulkheadProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadFilterTest {
+
+    private final BulkheadFilter filter =
+            new BulkheadFilter(new BulkheadProperties(), new ObjectMapper(), new SimpleMeterRegistry());
+
+    @Test
+    void shouldRouteEachEndpointToItsBulkhead() {
+        assertEquals("generation", filter.bulkheadFor("/api/users/generate"));
+        assertEquals("batch-import", filter.bulkheadFor("/api/users/batch"));
+        assertEquals("batch-import", filter.bulkheadFor("/api/users/seed/42"));
+        assertEquals("heavy-reads", filter.bulkheadFor("/api/users"));
+        assertEquals("heavy-reads", filter.bulkheadFor("/api/users/search"));
+        assertEquals("heavy-reads", filter.bulkheadFor("/api/users/export"));
+        assertEquals("interactive", filter.bulkheadFor("/api/auth/login"));
+        assertEquals("interactive", filter.bulkheadFor("/api/users/me"));
+        assertEquals("interactive", filter.bulkheadFor("/api/users/alice"));
+    }
+
+    @Test
+    void shouldLeaveEventStreamsAndOtherPathsUnlimited() {
+        assertNull(filter.bulkheadFor("/api/users/stream"));
+        assertNull(filter.bulkheadFor("/actuator/health"));
+    }
+
+    @Test
+    void shouldHoldPermitUntilStreamedResponseCompletes() throws Exception {
+        // given: one heavy read at a time, no queue
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setHeavyReads(new BulkheadProperties.Compartment(1, 0, 0, List.of("/api/users/export")));
+        BulkheadFilter singleExport = new BulkheadFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        FilterChain startsStreaming = (request, response) -> request.startAsync();
+        MockHttpServletRequest first = exportRequest();
+
+        // when: the first export has started streaming and its filter call has returned
+        singleExport.doFilter(first, new MockHttpServletResponse(), startsStreaming);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        singleExport.doFilter(exportRequest(), second, startsStreaming);
+
+        // then
+        assertEquals(503, second.getStatus());
+
+        // when: the first stream finishes
+        ((MockAsyncContext) first.getAsyncContext()).complete();
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        singleExport.doFilter(exportRequest(), third, startsStreaming);
+
+        // then
+        assertEquals(200, third.getStatus());
+    }
+
+    private static MockHttpServletRequest exportRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/export");
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.miniproject.throttling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void shouldRejectOnceFullWithoutQueue() throws Exception {
+        // given
+        Bulkhead bulkhead = new Bulkhead("test", 2, 0, 1000);
+
+        // when / then
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(2, bulkhead.getActive());
+
+        bulkhead.release();
+        assertTrue(bulkhead.tryAcquire());
+    }
+
+    @Test
+    void shouldGrantQueuedRequestPermitWhenReleased() throws Exception {
+        // given
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, 5000);
+        assertTrue(bulkhead.tryAcquire());
+
+        // when
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.tryAcquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (bulkhead.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+        // The single queue slot is taken, so a third caller is rejected without waiting
+        assertFalse(bulkhead.tryAcquire());
+        bulkhead.release();
+
+        // then
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldRejectWhenQueueWaitExpires() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, 10);
+        assertTrue(bulkhead.tryAcquire());
+
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(0, bulkhead.getQueued());
+    }
+}
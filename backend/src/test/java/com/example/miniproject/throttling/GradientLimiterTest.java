@@ -0,0 +1,112 @@
+package com.example.miniproject.throttling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void shouldRejectAtLimit() {
+        GradientLimiter limiter = new GradientLimiter(2, 1, 10, 0.2, 1.5, 100);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onComplete(FAST);
+        assertTrue(limiter.tryAcquire());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInflight());
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyRisesUnderLoad() {
+        // given
+        GradientLimiter limiter = new GradientLimiter(20, 4, 100, 0.2, 1.5, 100);
+        runSaturated(limiter, FAST, 200);
+        int steadyLimit = limiter.getLimit();
+
+        // when
+        runSaturated(limiter, SLOW, 50);
+
+        // then
+        assertTrue(limiter.getLimit() < steadyLimit,
+                "limit should shrink from " + steadyLimit + " but was " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 4);
+    }
+
+    @Test
+    void shouldGrowLimitUpToMaxWhenLatencyIsFlat() {
+        GradientLimiter limiter = new GradientLimiter(10, 4, 40, 0.2, 1.5, 100);
+
+        runSaturated(limiter, FAST, 500);
+
+        assertEquals(40, limiter.getLimit());
+    }
+
+    @Test
+    void shouldShrinkLimitWhenSlowBulkLatencyIsMixedIn() {
+        // given
+        GradientLimiter limiter = new GradientLimiter(20, 4, 100, 0.2, 1.5, 100);
+        runSaturated(limiter, FAST, 200);
+        int steadyLimit = limiter.getLimit();
+
+        // when
+        runMixed(limiter, true, 50);
+
+        // then
+        assertTrue(limiter.getLimit() < steadyLimit);
+    }
+
+    @Test
+    void shouldHoldLimitWhenSlowBulkRequestsReleaseWithoutSample() {
+        // given
+        GradientLimiter limiter = new GradientLimiter(20, 4, 100, 0.2, 1.5, 100);
+        runSaturated(limiter, FAST, 200);
+        int steadyLimit = limiter.getLimit();
+
+        // when
+        runMixed(limiter, false, 50);
+
+        // then
+        assertTrue(limiter.getLimit() >= steadyLimit,
+                "limit should hold at " + steadyLimit + " but was " + limiter.getLimit());
+    }
+
+    /**
+     * Keep the limiter full while fast interactive and slow bulk requests complete in turn
+     */
+    private static void runMixed(GradientLimiter limiter, boolean sampleBulk, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            while (limiter.tryAcquire()) {
+                // take every free slot
+            }
+            limiter.onComplete(FAST);
+            if (sampleBulk) {
+                limiter.onComplete(SLOW);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+
+    /**
+     * Fill the limiter, then complete requests one at a time with the given latency
+     */
+    private static void runSaturated(GradientLimiter limiter, long rttNanos, int completions) {
+        for (int i = 0; i < completions; i++) {
+            while (limiter.tryAcquire()) {
+                // take every free slot
+            }
+            limiter.onComplete(rttNanos);
+        }
+    }
+}